@@ -0,0 +1,71 @@
+package dev.willbanders.storm;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import dev.willbanders.storm.config.Node;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generated configs used as benchmark input. Each corpus is an object with a
+ * list of service records, similar to a service catalog, and is generated
+ * from a fixed seed so results are comparable between runs.
+ */
+public enum Corpus {
+
+    SMALL(10),
+    MEDIUM(1_000),
+    HUGE(50_000);
+
+    private static final String[] REGIONS = {"us-east-1", "us-west-2", "eu-west-1", "ap-south-1"};
+
+    private final int records;
+
+    Corpus(int records) {
+        this.records = records;
+    }
+
+    public int getRecords() {
+        return records;
+    }
+
+    /**
+     * Returns a new root node containing the generated records. Comments are
+     * only included if requested, since they are not supported by JSON.
+     */
+    public Node generate(boolean comments) {
+        Random random = new Random(records);
+        List<Object> list = Lists.newArrayListWithCapacity(records);
+        for (int i = 0; i < records; i++) {
+            Map<String, Object> endpoint = Maps.newLinkedHashMap();
+            endpoint.put("host", "service-" + i + ".internal.example.com");
+            endpoint.put("port", BigInteger.valueOf(1024 + random.nextInt(60000)));
+            Map<String, Object> record = Maps.newLinkedHashMap();
+            record.put("id", BigInteger.valueOf(i));
+            record.put("name", "service-" + i);
+            record.put("enabled", random.nextBoolean());
+            record.put("weight", BigDecimal.valueOf(random.nextInt(1000), 3));
+            record.put("region", REGIONS[random.nextInt(REGIONS.length)]);
+            record.put("endpoint", endpoint);
+            list.add(record);
+        }
+        Node root = Node.root();
+        root.attach().setValue(Maps.newLinkedHashMap());
+        root.resolve("version").attach().setValue(BigInteger.ONE);
+        root.resolve("records").attach().setValue(list);
+        if (comments) {
+            root.setComment("Generated service catalog with " + records + " records.");
+            for (Node record : root.resolve("records").getList()) {
+                if ((int) record.getKey() % 10 == 0) {
+                    record.setComment("Record " + record.getKey());
+                }
+            }
+        }
+        return root;
+    }
+
+}
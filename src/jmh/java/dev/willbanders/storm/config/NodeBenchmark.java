@@ -0,0 +1,47 @@
+package dev.willbanders.storm.config;
+
+import dev.willbanders.storm.Corpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NodeBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Corpus corpus;
+
+    private Node root;
+    private int index;
+
+    @Setup
+    public void setup() {
+        root = corpus.generate(false);
+        index = corpus.getRecords() / 2;
+    }
+
+    @Benchmark
+    public Node resolve() {
+        return root.resolve("records", index, "endpoint", "port");
+    }
+
+    @Benchmark
+    public Node resolveUndefined() {
+        return root.resolve("records", index, "endpoint", "missing");
+    }
+
+    @Benchmark
+    public Node get() {
+        return root.get("version");
+    }
+
+}
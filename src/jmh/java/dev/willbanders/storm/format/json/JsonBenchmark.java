@@ -0,0 +1,66 @@
+package dev.willbanders.storm.format.json;
+
+import dev.willbanders.storm.Corpus;
+import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.format.Token;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Corpus corpus;
+
+    private Node node;
+    private String input;
+
+    @Setup
+    public void setup() {
+        // JSON exports are typically a root array of records, which is also
+        // the case parseParallel is designed for.
+        node = corpus.generate(false).resolve("records");
+        input = generate();
+    }
+
+    @Benchmark
+    public void lex(Blackhole blackhole) {
+        JsonLexer lexer = new JsonLexer(input);
+        Token<JsonTokenType> token;
+        while ((token = lexer.lexToken()) != null) {
+            blackhole.consume(token);
+        }
+    }
+
+    @Benchmark
+    public Node parse() {
+        return JsonParser.parse(input);
+    }
+
+    @Benchmark
+    public Node parseParallel() {
+        return JsonParser.parse(input, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public String generate() {
+        StringWriter writer = new StringWriter();
+        JsonGenerator.generate(node, new PrintWriter(writer));
+        return writer.toString();
+    }
+
+}
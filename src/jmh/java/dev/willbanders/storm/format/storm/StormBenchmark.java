@@ -0,0 +1,58 @@
+package dev.willbanders.storm.format.storm;
+
+import dev.willbanders.storm.Corpus;
+import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.format.Token;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StormBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Corpus corpus;
+
+    private Node node;
+    private String input;
+
+    @Setup
+    public void setup() {
+        node = corpus.generate(true);
+        input = generate();
+    }
+
+    @Benchmark
+    public void lex(Blackhole blackhole) {
+        StormLexer lexer = new StormLexer(input);
+        Token<StormTokenType> token;
+        while ((token = lexer.lexToken()) != null) {
+            blackhole.consume(token);
+        }
+    }
+
+    @Benchmark
+    public Node parse() {
+        return StormParser.parse(input);
+    }
+
+    @Benchmark
+    public String generate() {
+        StringWriter writer = new StringWriter();
+        StormGenerator.generate(node, new PrintWriter(writer));
+        return writer.toString();
+    }
+
+}
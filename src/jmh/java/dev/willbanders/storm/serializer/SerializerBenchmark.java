@@ -0,0 +1,74 @@
+package dev.willbanders.storm.serializer;
+
+import dev.willbanders.storm.Corpus;
+import dev.willbanders.storm.Storm;
+import dev.willbanders.storm.config.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializerBenchmark {
+
+    private static final Serializer<List<Record>> RECORDS;
+
+    static {
+        Storm.SCOPE.register(Endpoint.class, Storm.CLASS.of(Endpoint.class));
+        RECORDS = Storm.LIST.of(Storm.CLASS.of(Record.class));
+    }
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Corpus corpus;
+
+    private Node node;
+    private List<Record> records;
+
+    @Setup
+    public void setup() {
+        node = corpus.generate(false).resolve("records");
+        records = node.get(RECORDS);
+    }
+
+    @Benchmark
+    public List<Record> deserialize() {
+        return node.get(RECORDS);
+    }
+
+    @Benchmark
+    public Node reserialize() {
+        Node node = Node.root();
+        node.set(records, RECORDS);
+        return node;
+    }
+
+    @Storm.Serialized
+    public static final class Record {
+
+        private int id;
+        private String name;
+        private boolean enabled;
+        private double weight;
+        private String region;
+        private Endpoint endpoint;
+
+    }
+
+    @Storm.Serialized
+    public static final class Endpoint {
+
+        private String host;
+        private int port;
+
+    }
+
+}
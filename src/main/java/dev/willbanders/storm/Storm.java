@@ -1,9 +1,12 @@
 package dev.willbanders.storm;
 
+import com.google.common.base.Preconditions;
 import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.config.Scope;
 import dev.willbanders.storm.format.storm.StormGenerator;
 import dev.willbanders.storm.format.storm.StormParser;
+import dev.willbanders.storm.metrics.Metrics;
+import dev.willbanders.storm.serializer.common.*;
 import dev.willbanders.storm.serializer.primitive.*;
 
 import java.io.PrintWriter;
@@ -15,6 +18,12 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
 
 public final class Storm {
 
@@ -43,9 +52,22 @@ public final class Storm {
     public static final MapSerializer<Object> MAP = MapSerializer.INSTANCE;
     public static final ObjectSerializer<?> OBJECT = ObjectSerializer.INSTANCE;
     public static final EnumSerializer<?> ENUM = EnumSerializer.INSTANCE;
+    public static final EnumSetSerializer<?> ENUM_SET = EnumSetSerializer.INSTANCE;
+    public static final EnumMapSerializer<?, Object> ENUM_MAP = EnumMapSerializer.INSTANCE;
     public static final TupleSerializer<?> TUPLE = TupleSerializer.INSTANCE;
     public static final UnionSerializer<?> UNION = UnionSerializer.INSTANCE;
     public static final ClassSerializer<?> CLASS = ClassSerializer.INSTANCE;
+    public static final TaggedSerializer<Object> TAGGED = TaggedSerializer.INSTANCE;
+    public static final SchemaSerializer SCHEMA = SchemaSerializer.INSTANCE;
+    public static final DurationSerializer DURATION = DurationSerializer.INSTANCE;
+    public static final InstantSerializer INSTANT = InstantSerializer.INSTANCE;
+    public static final LocalDateSerializer LOCAL_DATE = LocalDateSerializer.INSTANCE;
+    public static final UUIDSerializer UUID = UUIDSerializer.INSTANCE;
+    public static final URISerializer URI = URISerializer.INSTANCE;
+    public static final InetSocketAddressSerializer INET_SOCKET_ADDRESS = InetSocketAddressSerializer.INSTANCE;
+    public static final DataSizeSerializer DATA_SIZE = DataSizeSerializer.INSTANCE;
+
+    private static volatile Metrics metrics = Metrics.NONE;
 
     public static Node deserialize(String input) {
         return StormParser.parse(input);
@@ -57,6 +79,22 @@ public final class Storm {
         return writer.toString();
     }
 
+    /**
+     * Returns the registered metrics listener, which is {@link Metrics#NONE}
+     * by default.
+     */
+    public static Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Registers the metrics listener used by parsers, generators, and
+     * serializers. Use {@link Metrics#NONE} to disable metrics collection.
+     */
+    public static void setMetrics(Metrics metrics) {
+        Storm.metrics = Preconditions.checkNotNull(metrics);
+    }
+
     static {
         SCOPE.register(boolean.class, BOOLEAN);
         SCOPE.register(byte.class, BYTE);
@@ -78,6 +116,13 @@ public final class Storm {
         SCOPE.register(BigDecimal.class, BIG_DECIMAL);
         SCOPE.register(Character.class, CHARACTER);
         SCOPE.register(String.class, STRING);
+        SCOPE.register(Duration.class, DURATION);
+        SCOPE.register(Instant.class, INSTANT);
+        SCOPE.register(LocalDate.class, LOCAL_DATE);
+        SCOPE.register(UUID.class, UUID);
+        SCOPE.register(URI.class, URI);
+        SCOPE.register(InetSocketAddress.class, INET_SOCKET_ADDRESS);
+        SCOPE.register(DataSize.class, DATA_SIZE);
     }
 
 }
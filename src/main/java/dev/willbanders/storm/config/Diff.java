@@ -0,0 +1,197 @@
+package dev.willbanders.storm.config;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the structural differences between two node hierarchies, such as
+ * two versions of a config, as a list of {@link Change}s.
+ *
+ * <p>Subtrees are compared using {@link Node#equals(Object)}, whose cached
+ * hashes allow identical subtrees to be skipped without comparing their
+ * children and array elements to be matched across indices. Array elements
+ * which are identical but at a different index are reported as {@link
+ * Kind#MOVED} rather than as a removal and addition. Comments are not
+ * considered part of the value and are ignored.</p>
+ */
+public final class Diff {
+
+    public enum Kind {
+        ADDED,
+        REMOVED,
+        CHANGED,
+        MOVED
+    }
+
+    /**
+     * A change between two nodes. Paths are relative to the nodes being
+     * compared, and are thus the same as {@link Node#getPath()} when comparing
+     * root nodes.
+     */
+    public static final class Change {
+
+        private final Kind kind;
+        private final List<Object> from;
+        private final List<Object> path;
+        private final Node previous;
+        private final Node current;
+
+        private Change(Kind kind, List<Object> from, List<Object> path, Node previous, Node current) {
+            this.kind = kind;
+            this.from = from;
+            this.path = path;
+            this.previous = previous;
+            this.current = current;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Returns the path of the previous node, which is only different from
+         * {@link #getPath()} for {@link Kind#MOVED} changes.
+         */
+        public List<Object> getFrom() {
+            return from;
+        }
+
+        /**
+         * Returns the path of the change, which is the path of the current node
+         * for {@link Kind#MOVED} changes.
+         */
+        public List<Object> getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the previous node, which is {@link Node.Type#UNDEFINED} for
+         * {@link Kind#ADDED} changes.
+         */
+        public Node getPrevious() {
+            return previous;
+        }
+
+        /**
+         * Returns the current node, which is {@link Node.Type#UNDEFINED} for
+         * {@link Kind#REMOVED} changes.
+         */
+        public Node getCurrent() {
+            return current;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + (kind == Kind.MOVED ? from + " -> " : "") + path;
+        }
+
+    }
+
+    private final List<Change> changes = Lists.newArrayList();
+
+    private Diff() {}
+
+    /**
+     * Returns the changes from the previous node to the current node, ordered
+     * depth-first in the order of the previous and then current children.
+     */
+    public static List<Change> between(Node previous, Node current) {
+        Diff diff = new Diff();
+        diff.diff(previous, current, Lists.newArrayList());
+        return diff.changes;
+    }
+
+    private void diff(Node previous, Node current, List<Object> path) {
+        if (previous.equals(current)) {
+            return;
+        } else if (previous.getType() == Node.Type.OBJECT && current.getType() == Node.Type.OBJECT) {
+            for (Map.Entry<String, Node> entry : previous.getMap().entrySet()) {
+                path.add(entry.getKey());
+                diff(entry.getValue(), current.resolve(entry.getKey()), path);
+                path.remove(path.size() - 1);
+            }
+            for (Map.Entry<String, Node> entry : current.getMap().entrySet()) {
+                if (!previous.getMap().containsKey(entry.getKey())) {
+                    path.add(entry.getKey());
+                    change(Kind.ADDED, path, path, previous.resolve(entry.getKey()), entry.getValue());
+                    path.remove(path.size() - 1);
+                }
+            }
+        } else if (previous.getType() == Node.Type.ARRAY && current.getType() == Node.Type.ARRAY) {
+            diffArray(previous.getList(), current.getList(), path);
+        } else if (previous.getType() == Node.Type.UNDEFINED) {
+            change(Kind.ADDED, path, path, previous, current);
+        } else if (current.getType() == Node.Type.UNDEFINED) {
+            change(Kind.REMOVED, path, path, previous, current);
+        } else {
+            change(Kind.CHANGED, path, path, previous, current);
+        }
+    }
+
+    /**
+     * Compares array elements by first matching elements which are unchanged
+     * at the same index, then matching remaining elements which are identical
+     * at a different index as moves. Elements which are still unmatched are
+     * compared by index, or are otherwise additions and removals.
+     */
+    private void diffArray(List<Node> previous, List<Node> current, List<Object> path) {
+        boolean[] matchedPrevious = new boolean[previous.size()];
+        boolean[] matchedCurrent = new boolean[current.size()];
+        Map<Integer, Deque<Integer>> unmatched = Maps.newHashMap();
+        for (int i = 0; i < current.size(); i++) {
+            if (i < previous.size() && previous.get(i).equals(current.get(i))) {
+                matchedPrevious[i] = true;
+                matchedCurrent[i] = true;
+            } else {
+                unmatched.computeIfAbsent(current.get(i).hashCode(), h -> new ArrayDeque<>()).add(i);
+            }
+        }
+        for (int i = 0; i < previous.size(); i++) {
+            Deque<Integer> candidates = matchedPrevious[i] ? null : unmatched.get(previous.get(i).hashCode());
+            if (candidates != null) {
+                for (Integer j : candidates) {
+                    if (previous.get(i).equals(current.get(j))) {
+                        candidates.remove(j);
+                        matchedPrevious[i] = true;
+                        matchedCurrent[j] = true;
+                        change(Kind.MOVED, append(path, i), append(path, j), previous.get(i), current.get(j));
+                        break;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < previous.size(); i++) {
+            if (!matchedPrevious[i]) {
+                path.add(i);
+                if (i < current.size() && !matchedCurrent[i]) {
+                    matchedCurrent[i] = true;
+                    diff(previous.get(i), current.get(i), path);
+                } else {
+                    change(Kind.REMOVED, path, path, previous.get(i), Node.root());
+                }
+                path.remove(path.size() - 1);
+            }
+        }
+        for (int i = 0; i < current.size(); i++) {
+            if (!matchedCurrent[i]) {
+                change(Kind.ADDED, append(path, i), append(path, i), Node.root(), current.get(i));
+            }
+        }
+    }
+
+    private void change(Kind kind, List<Object> from, List<Object> path, Node previous, Node current) {
+        List<Object> copy = ImmutableList.copyOf(path);
+        changes.add(new Change(kind, from == path ? copy : ImmutableList.copyOf(from), copy, previous, current));
+    }
+
+    private static List<Object> append(List<Object> path, Object key) {
+        return ImmutableList.builder().addAll(path).add(key).build();
+    }
+
+}
@@ -4,17 +4,21 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import dev.willbanders.storm.Storm;
+import dev.willbanders.storm.metrics.Metrics;
 import dev.willbanders.storm.serializer.SerializationException;
 import dev.willbanders.storm.serializer.Serializer;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * A node in the configuration hierarchy used for representing values.
@@ -29,6 +33,12 @@ import java.util.Map;
  * present in the config. These nodes are considered virtual, are unattached,
  * and have an {@link Type#UNDEFINED} value. Nodes that are present in the
  * config are considered attached and have a defined value.</p>
+ *
+ * <p>Nodes are equal if they have the same type and value, regardless of their
+ * comments or position in the hierarchy. Hash codes are cached per subtree and
+ * invalidated when the subtree is modified, so repeated comparisons of large
+ * unchanged subtrees are cheap. As nodes are mutable, they should not be
+ * modified while used as keys in hash-based collections.</p>
  */
 public final class Node {
 
@@ -48,15 +58,30 @@ public final class Node {
         UNDEFINED
     }
 
+    /**
+     * Nodes are kept small since configs may contain millions of them. Object
+     * children are identified by {@link #name} and array elements by a
+     * primitive {@link #index} (with {@link #name} being {@code null}), which
+     * avoids boxing indices. Indices of array elements are updated lazily, and
+     * must be accessed through {@link #index()}. Nodes without a comment share
+     * the empty string. A root has no index, and instead uses {@link #index}
+     * to count modifications to its hierarchy so that views such as {@link
+     * Overlay} can detect changes, which the hash cannot do reliably. With
+     * compressed references, a node is 40 bytes, which is a 12 byte header,
+     * five references, and two ints. Any new field would increase this to 48.
+     */
     private Node parent;
-    private Object key;
+    private String name;
+    private int index;
     private String comment = "";
     private Type type;
-    private Object value = null;
+    private Object value;
+    private int hash;
 
-    private Node(Node parent, Object key, boolean attached) {
+    private Node(Node parent, String name, int index, boolean attached) {
         this.parent = parent;
-        this.key = key;
+        this.name = name;
+        this.index = index;
         this.type = attached ? Type.NULL : Type.UNDEFINED;
     }
 
@@ -65,7 +90,27 @@ public final class Node {
      * root node does not have a parent or a key.
      */
     public static Node root() {
-        return new Node(null, null, false);
+        return new Node(null, null, -1, false);
+    }
+
+    /**
+     * Returns a builder for the value of a new root node.
+     *
+     * @see Builder
+     */
+    public static Builder builder() {
+        return new Builder(root());
+    }
+
+    /**
+     * Returns a builder for the value of the given node, which is attached when
+     * the value is started and replaces any existing value. The comment of the
+     * node is kept unless a comment is given for the value.
+     *
+     * @see Builder
+     */
+    public static Builder builder(Node node) {
+        return new Builder(node);
     }
 
     /**
@@ -95,7 +140,7 @@ public final class Node {
      */
     public Object getKey() {
         Preconditions.checkState(!isRoot(), "Cannot get key from root node.");
-        return key;
+        return name != null ? name : index();
     }
 
     /**
@@ -106,7 +151,7 @@ public final class Node {
         Node node = this;
         List<Object> path = Lists.newArrayList();
         while (!node.isRoot()) {
-            path.add(node.key);
+            path.add(node.name != null ? node.name : node.index());
             node = node.parent;
         }
         return Lists.reverse(path);
@@ -123,6 +168,9 @@ public final class Node {
      * Sets the comment for this node. An empty string represents no comment.
      */
     public void setComment(String comment) {
+        if (type != Type.UNDEFINED && !this.comment.equals(comment)) {
+            getRoot().index++;
+        }
         this.comment = comment;
     }
 
@@ -186,43 +234,63 @@ public final class Node {
      */
     public void setValue(Object value) {
         Preconditions.checkState(type != Type.UNDEFINED, "Cannot set value to unattached node.");
-        if (value == null) {
-            type = Type.NULL;
-        } else if (value instanceof Boolean) {
-            type = Type.BOOLEAN;
-        } else if (value instanceof BigInteger) {
-            type = Type.INTEGER;
-        } else if (value instanceof BigDecimal) {
-            type = Type.DECIMAL;
-        } else if (value instanceof Character) {
-            type = Type.CHARACTER;
-        } else if (value instanceof String) {
-            type = Type.STRING;
-        } else if (value instanceof List) {
-            List<Node> list = Lists.newArrayList();
+        invalidate();
+        assign(value);
+    }
+
+    /**
+     * Sets the value of this node without invalidating ancestors, which is
+     * used for the children of a value that has already been invalidated.
+     */
+    private void assign(Object value) {
+        if (value instanceof List) {
+            Elements list = new Elements(((List<?>) value).size());
             for (Object element : (List<?>) value) {
-                Node node = new Node(this, list.size(), true);
-                node.setValue(element);
+                Node node = new Node(this, null, list.size(), true);
+                node.assign(element);
                 list.add(node);
             }
             type = Type.ARRAY;
             value = list;
         } else if (value instanceof Map) {
-            Map<String, Node> map = Maps.newLinkedHashMap();
+            Map<String, Node> map = Maps.newLinkedHashMapWithExpectedSize(((Map<?, ?>) value).size());
             for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
                 Preconditions.checkState(entry.getKey() instanceof String, "Unsupported map key type " + value.getClass().getName() + ".");
-                Node node = new Node(this, entry.getKey(), true);
-                node.setValue(entry.getValue());
+                Node node = new Node(this, (String) entry.getKey(), -1, true);
+                node.assign(entry.getValue());
                 map.put((String) entry.getKey(), node);
             }
             type = Type.OBJECT;
             value = map;
         } else {
-            throw new IllegalArgumentException("Unsupported value type " + value.getClass().getName() + ".");
+            type = leafType(value);
         }
         this.value = value;
     }
 
+    /**
+     * Returns the type of a value which is not a {@link List} or {@link Map}.
+     *
+     * @throws IllegalArgumentException if the given value is unsupported
+     */
+    private static Type leafType(Object value) {
+        if (value == null) {
+            return Type.NULL;
+        } else if (value instanceof Boolean) {
+            return Type.BOOLEAN;
+        } else if (value instanceof BigInteger) {
+            return Type.INTEGER;
+        } else if (value instanceof BigDecimal) {
+            return Type.DECIMAL;
+        } else if (value instanceof Character) {
+            return Type.CHARACTER;
+        } else if (value instanceof String) {
+            return Type.STRING;
+        } else {
+            throw new IllegalArgumentException("Unsupported value type " + value.getClass().getName() + ".");
+        }
+    }
+
     /**
      * Returns a list of children for this node, provided it is an {@link
      * Type#ARRAY}. The returned list is unmodifiable.
@@ -269,18 +337,20 @@ public final class Node {
         for (Object key : path) {
             Node child = null;
             if (key instanceof Integer) {
-                Preconditions.checkState((int) key >= 0, "Index must be non-negative.");
-                if (node.getType() == Type.ARRAY && (int) key < node.getList().size()) {
-                    child = node.getList().get((int) key);
+                int i = (int) key;
+                Preconditions.checkState(i >= 0, "Index must be non-negative.");
+                if (node.type == Type.ARRAY && i < ((List<Node>) node.value).size()) {
+                    child = ((List<Node>) node.value).get(i);
                 }
+                node = child != null ? child : new Node(node, null, i, false);
             } else if (key instanceof String) {
-                if (node.getType() == Type.OBJECT) {
-                    child = node.getMap().get(key);
+                if (node.type == Type.OBJECT) {
+                    child = ((Map<String, Node>) node.value).get(key);
                 }
+                node = child != null ? child : new Node(node, (String) key, -1, false);
             } else {
                 throw new IllegalArgumentException("Key must be an integer or string.");
             }
-            node = child != null ? child : new Node(node, key, false);
         }
         return node;
     }
@@ -300,44 +370,47 @@ public final class Node {
             return this;
         } else if (parent != null) {
             parent.attachChild(this);
+        } else {
+            index++;
         }
         type = Type.NULL;
         value = null;
+        hash = 0;
         return this;
     }
 
     private void attachChild(Node child) {
-        Preconditions.checkState(resolve(child.key).type == Type.UNDEFINED, "A node is already attached at this path.");
+        Preconditions.checkState(resolve(child.getKey()).type == Type.UNDEFINED, "A node is already attached at this path.");
         if (type == Type.UNDEFINED) {
             if (parent != null) {
                 parent.attachChild(this);
             }
-            if (child.key instanceof Integer) {
+            if (child.name == null) {
                 type = Type.ARRAY;
-                value = Lists.newArrayList();
-            } else if (child.key instanceof String) {
+                value = new Elements(child.index + 1);
+            } else {
                 type = Type.OBJECT;
                 value = Maps.newLinkedHashMap();
-            } else {
-                throw new AssertionError();
             }
         }
         switch (type) {
             case ARRAY:
-                Preconditions.checkState(child.key instanceof Integer, "Cannot attach object child to array value.");
-                List<Node> list = (List<Node>) value;
-                while (list.size() < (int) child.key) {
-                    list.add(new Node(this, list.size(), true));
+                Preconditions.checkState(child.name == null, "Cannot attach object child to array value.");
+                Elements list = (Elements) value;
+                list.ensureCapacity(child.index + 1);
+                while (list.size() < child.index) {
+                    list.add(new Node(this, null, list.size(), true));
                 }
                 list.add(child);
                 break;
             case OBJECT:
-                Preconditions.checkState(child.key instanceof String, "Cannot attach array child to object value.");
-                ((Map<String, Node>) value).put((String) child.key, child);
+                Preconditions.checkState(child.name != null, "Cannot attach array child to object value.");
+                ((Map<String, Node>) value).put(child.name, child);
                 break;
             default:
                 throw new IllegalStateException("Cannot attach node to value of type " + parent.type + ".");
         }
+        invalidate();
     }
 
     /**
@@ -345,22 +418,22 @@ public final class Node {
      * detached, the node's value will be {@link Type#UNDEFINED}.
      *
      * <p>For arrays, this process includes shifting any subsequent nodes in the
-     * array to fill the hole left by removal.</p>
+     * array to fill the hole left by removal. The indices of these nodes are
+     * updated lazily, so removing elements does not require renumbering.</p>
      */
     public Node detach() {
         if (type == Type.UNDEFINED) {
             return this;
-        } else if (parent != null) {
+        }
+        invalidate();
+        if (parent != null) {
             switch (parent.type) {
                 case ARRAY:
-                    List<Node> list = (List<Node>) parent.value;
-                    list.remove((int) key);
-                    for (int i = (int) key; i < list.size(); i++) {
-                        list.get(i).key = i;
-                    }
+                    int i = index();
+                    ((Elements) parent.value).removeRange(i, i + 1);
                     break;
                 case OBJECT:
-                    ((Map) parent.value).remove(key);
+                    ((Map) parent.value).remove(name);
                     break;
                 default:
                     throw new AssertionError();
@@ -371,6 +444,232 @@ public final class Node {
         return this;
     }
 
+    /**
+     * Inserts new elements with the given values at the given index of this
+     * node, provided it is an {@link Type#ARRAY}. Subsequent elements are
+     * shifted to make room for the new elements.
+     *
+     * @throws IllegalArgumentException if a value is unsupported
+     * @throws IllegalStateException if this node is not an array
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     * @see #setValue(Object)
+     */
+    public Node insert(int index, Object... values) {
+        Preconditions.checkState(type == Type.ARRAY, "Cannot insert into value of type " + type + ".");
+        Elements list = (Elements) value;
+        Preconditions.checkPositionIndex(index, list.size());
+        List<Node> nodes = Lists.newArrayListWithCapacity(values.length);
+        for (Object value : values) {
+            Node node = new Node(this, null, index + nodes.size(), true);
+            node.assign(value);
+            nodes.add(node);
+        }
+        invalidate();
+        list.addAll(index, nodes);
+        list.stale = Math.min(list.stale, index);
+        return this;
+    }
+
+    /**
+     * Detaches the elements from index {@code from} (inclusive) to index
+     * {@code to} (exclusive) of this node, provided it is an {@link
+     * Type#ARRAY}. Subsequent elements are shifted to fill the hole left by
+     * removal.
+     *
+     * @throws IllegalStateException if this node is not an array
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     * @see #detach()
+     */
+    public Node removeRange(int from, int to) {
+        Preconditions.checkState(type == Type.ARRAY, "Cannot remove from value of type " + type + ".");
+        Elements list = (Elements) value;
+        Preconditions.checkPositionIndexes(from, to, list.size());
+        if (from != to) {
+            invalidate();
+            list.removeRange(from, to);
+        }
+        return this;
+    }
+
+    /**
+     * Detaches all elements of this node at or after the given size, provided
+     * it is an {@link Type#ARRAY}. If the array is not larger than the given
+     * size, it is unchanged.
+     *
+     * @throws IllegalArgumentException if the size is negative
+     * @throws IllegalStateException if this node is not an array
+     * @see #removeRange(int, int)
+     */
+    public Node truncate(int size) {
+        Preconditions.checkArgument(size >= 0, "Size must be non-negative.");
+        Preconditions.checkState(type == Type.ARRAY, "Cannot truncate value of type " + type + ".");
+        return removeRange(Math.min(size, getList().size()), getList().size());
+    }
+
+    /**
+     * Returns the index of this node, updating the indices of the elements of
+     * the parent array if they are stale. Unattached nodes always keep the
+     * index they were resolved with.
+     */
+    private int index() {
+        if (type != Type.UNDEFINED && parent != null && parent.type == Type.ARRAY) {
+            Elements list = (Elements) parent.value;
+            if (index >= list.stale) {
+                for (int i = list.stale; i < list.size(); i++) {
+                    list.get(i).index = i;
+                }
+                list.stale = Integer.MAX_VALUE;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Clears the cached hash of this node and its ancestors and increments
+     * the modification count of the root.
+     */
+    private void invalidate() {
+        Node node = this;
+        node.hash = 0;
+        while (node.parent != null) {
+            node = node.parent;
+            node.hash = 0;
+        }
+        node.index++;
+    }
+
+    /**
+     * Returns the root of the hierarchy containing this node. Detached nodes
+     * keep the root they were detached from.
+     */
+    Node getRoot() {
+        Node node = this;
+        while (node.parent != null) {
+            node = node.parent;
+        }
+        return node;
+    }
+
+    /**
+     * Returns the number of modifications to the values or comments of the
+     * hierarchy, provided this node is a root. Nodes filled by a {@link
+     * Builder} are only counted once when the builder starts.
+     */
+    int getModifications() {
+        Preconditions.checkState(isRoot(), "Cannot get modifications from non-root node.");
+        return index;
+    }
+
+    /**
+     * Returns {@code true} if the given object is a node with the same type and
+     * value as this node. Comments and the position of the nodes in their
+     * hierarchies are not compared, and object children are compared without
+     * regard to order.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!(obj instanceof Node)) {
+            return false;
+        }
+        Node other = (Node) obj;
+        return type == other.type && hashCode() == other.hashCode() && Objects.equals(value, other.value);
+    }
+
+    /**
+     * Returns a hash code based on the type and value of this node, which is
+     * cached until this node or any of its children are modified.
+     */
+    @Override
+    public int hashCode() {
+        if (hash == 0) {
+            int computed = 31 * type.ordinal() + Objects.hashCode(value);
+            hash = computed != 0 ? computed : 1;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns a deep copy of this node as a new root node, including comments.
+     * If this node is unattached, the copy is {@link Type#UNDEFINED}.
+     */
+    public Node copy() {
+        Node copy = root();
+        if (type != Type.UNDEFINED) {
+            copyTo(copy);
+        }
+        return copy;
+    }
+
+    private void copyTo(Node node) {
+        node.type = type;
+        node.comment = comment;
+        node.hash = hash;
+        switch (type) {
+            case ARRAY:
+                List<Node> list = (List<Node>) value;
+                Elements elements = new Elements(list.size());
+                for (Node child : list) {
+                    Node copy = new Node(node, null, elements.size(), true);
+                    child.copyTo(copy);
+                    elements.add(copy);
+                }
+                node.value = elements;
+                break;
+            case OBJECT:
+                Map<String, Node> map = (Map<String, Node>) value;
+                Map<String, Node> copies = Maps.newLinkedHashMapWithExpectedSize(map.size());
+                for (Node child : map.values()) {
+                    Node copy = new Node(node, child.name, -1, true);
+                    child.copyTo(copy);
+                    copies.put(child.name, copy);
+                }
+                node.value = copies;
+                break;
+            default:
+                node.value = value;
+        }
+    }
+
+    /**
+     * Attaches the given root node at the given path relative to this node,
+     * replacing any node already attached at that path (which is detached).
+     * The subtree itself is attached rather than copied, so this does not
+     * depend on the size of the subtree. The comment of the subtree is kept.
+     *
+     * <p>To graft a subtree of another hierarchy, use {@link #copy()} first.
+     * As with {@link #attach()}, intermediate nodes are created as needed.</p>
+     *
+     * @throws IllegalArgumentException if the subtree is not an attached root,
+     *     if the path is empty and this node is a root, or if this node is in
+     *     the hierarchy of the subtree
+     * @throws IllegalStateException if attaching would overwrite values
+     * @see #resolve(Object...)
+     */
+    public Node graft(List<Object> path, Node subtree) {
+        Preconditions.checkArgument(subtree.isRoot(), "Subtree must be a root node.");
+        Preconditions.checkArgument(subtree.type != Type.UNDEFINED, "Subtree must be attached.");
+        Node target = resolve(path.toArray());
+        Preconditions.checkArgument(!target.isRoot(), "Cannot graft onto a root node.");
+        Preconditions.checkArgument(getRoot() != subtree, "Cannot graft a node into its own hierarchy.");
+        target.attach();
+        Node parent = target.parent;
+        subtree.parent = parent;
+        subtree.name = target.name;
+        subtree.index = target.index();
+        if (parent.type == Type.ARRAY) {
+            ((List<Node>) parent.value).set(subtree.index, subtree);
+        } else {
+            ((Map<String, Node>) parent.value).put(subtree.name, subtree);
+        }
+        target.type = Type.UNDEFINED;
+        target.value = null;
+        target.hash = 0;
+        parent.invalidate();
+        return subtree;
+    }
+
     /**
      * Returns a node located at the given path relative to this node. The path
      * is split on {@code .}, as in {@code first.second.third}, and an empty
@@ -390,7 +689,16 @@ public final class Node {
      * @see Serializer#deserialize(Node)
      */
     public <T> T get(Serializer<T> serializer) throws SerializationException {
-        return serializer.deserialize(this);
+        Metrics metrics = Storm.getMetrics();
+        if (metrics == Metrics.NONE) {
+            return serializer.deserialize(this);
+        }
+        long start = System.nanoTime();
+        try {
+            return serializer.deserialize(this);
+        } finally {
+            metrics.deserialized(serializer.getClass(), System.nanoTime() - start);
+        }
     }
 
     /**
@@ -433,7 +741,7 @@ public final class Node {
      * @see Serializer#reserialize(Node, Object)
      */
     public <T> void set(T value, Serializer<T> serializer) throws SerializationException {
-        serializer.reserialize(this, value);
+        reserialize(value, serializer);
     }
 
     /**
@@ -480,7 +788,216 @@ public final class Node {
      * @see Serializer#reserialize(Node, Object)
      */
     public void set(String value, Serializer<String> serializer) throws SerializationException {
-        serializer.reserialize(this, value);
+        reserialize(value, serializer);
+    }
+
+    private <T> void reserialize(T value, Serializer<T> serializer) throws SerializationException {
+        Metrics metrics = Storm.getMetrics();
+        if (metrics == Metrics.NONE) {
+            serializer.reserialize(this, value);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            serializer.reserialize(this, value);
+        } finally {
+            metrics.reserialized(serializer.getClass(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Builds the value of a node from a sequence of events, such as from a
+     * parser, without resolving and attaching each child individually. Arrays
+     * and objects are started with {@link #beginArray(int)} and {@link
+     * #beginObject(int)}, which may be given the expected size to pre-size
+     * the collection, and are completed with {@link #end()}. Values within an
+     * object must be preceded by a {@link #key(String)}, and any value may be
+     * preceded by a {@link #comment(String)}.
+     *
+     * <pre>{@code
+     * Node node = Node.builder()
+     *     .beginObject(2)
+     *     .comment("The name.").key("name").value("Storm")
+     *     .key("tags").beginArray(1).value("config").end()
+     *     .end()
+     *     .build();
+     * }</pre>
+     *
+     * <p>Events which are out of order, such as a value without a key within
+     * an object, throw an {@link IllegalStateException}.</p>
+     */
+    public static final class Builder {
+
+        private final Node root;
+        private final Deque<Node> containers = new ArrayDeque<>();
+        private String key;
+        private String comment;
+        private boolean started = false;
+
+        private Builder(Node root) {
+            this.root = root;
+        }
+
+        /**
+         * Sets the comment of the next value.
+         */
+        public Builder comment(String comment) {
+            this.comment = comment;
+            return this;
+        }
+
+        /**
+         * Sets the key of the next value, which must be within an object.
+         *
+         * @throws IllegalStateException if not within an object, or if a key
+         *     has already been given without a value
+         */
+        public Builder key(String key) {
+            Preconditions.checkState(!containers.isEmpty() && containers.peek().type == Type.OBJECT, "Cannot use a key outside of an object.");
+            Preconditions.checkState(this.key == null, "Expected a value for key " + this.key + ".");
+            this.key = key;
+            return this;
+        }
+
+        /**
+         * Adds a value, which may be any value supported by {@link
+         * Node#setValue(Object)}. Arrays and objects are built with pre-sized
+         * collections.
+         *
+         * @throws IllegalArgumentException if the value is unsupported
+         */
+        public Builder value(Object value) {
+            if (value instanceof List) {
+                beginArray(((List<?>) value).size());
+                for (Object element : (List<?>) value) {
+                    value(element);
+                }
+                return end();
+            } else if (value instanceof Map) {
+                beginObject(((Map<?, ?>) value).size());
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    Preconditions.checkState(entry.getKey() instanceof String, "Unsupported map key type " + value.getClass().getName() + ".");
+                    key((String) entry.getKey()).value(entry.getValue());
+                }
+                return end();
+            }
+            next(leafType(value), value);
+            return this;
+        }
+
+        /**
+         * Starts an array, which must be completed with {@link #end()}.
+         */
+        public Builder beginArray() {
+            return beginArray(10);
+        }
+
+        /**
+         * Starts an array with the expected number of elements, which must be
+         * completed with {@link #end()}.
+         */
+        public Builder beginArray(int expectedSize) {
+            containers.push(next(Type.ARRAY, new Elements(expectedSize)));
+            return this;
+        }
+
+        /**
+         * Starts an object, which must be completed with {@link #end()}.
+         */
+        public Builder beginObject() {
+            return beginObject(16);
+        }
+
+        /**
+         * Starts an object with the expected number of properties, which must
+         * be completed with {@link #end()}.
+         */
+        public Builder beginObject(int expectedSize) {
+            containers.push(next(Type.OBJECT, Maps.newLinkedHashMapWithExpectedSize(expectedSize)));
+            return this;
+        }
+
+        /**
+         * Completes the current array or object.
+         *
+         * @throws IllegalStateException if there is no array or object to
+         *     complete, or if a key has been given without a value
+         */
+        public Builder end() {
+            Preconditions.checkState(!containers.isEmpty(), "No array or object to end.");
+            Preconditions.checkState(key == null, "Expected a value for key " + key + ".");
+            containers.pop();
+            return this;
+        }
+
+        /**
+         * Returns the node being built, provided the value is complete.
+         *
+         * @throws IllegalStateException if the value is incomplete
+         */
+        public Node build() {
+            Preconditions.checkState(started && containers.isEmpty(), "Cannot build an incomplete value.");
+            return root;
+        }
+
+        private Node next(Type type, Object value) {
+            Node node;
+            if (containers.isEmpty()) {
+                Preconditions.checkState(!started, "The value has already been built.");
+                started = true;
+                node = root.attach();
+                node.invalidate();
+            } else if (containers.peek().type == Type.ARRAY) {
+                Node parent = containers.peek();
+                Elements list = (Elements) parent.value;
+                node = new Node(parent, null, list.size(), true);
+                list.add(node);
+            } else {
+                Preconditions.checkState(key != null, "Expected a key for object value.");
+                Node parent = containers.peek();
+                node = new Node(parent, key, -1, true);
+                Preconditions.checkState(((Map<String, Node>) parent.value).putIfAbsent(key, node) == null, "Duplicate key " + key + ".");
+                key = null;
+            }
+            node.type = type;
+            node.value = value;
+            if (comment != null) {
+                node.comment = comment;
+                comment = null;
+            }
+            return node;
+        }
+
+    }
+
+    /**
+     * The elements of an array, which tracks the first index at which the
+     * indices of elements may be stale. Removing or inserting elements only
+     * lowers this index rather than renumbering subsequent elements, which are
+     * then renumbered together when an index is next needed.
+     */
+    @SuppressWarnings("serial")
+    private static final class Elements extends ArrayList<Node> {
+
+        private int stale = Integer.MAX_VALUE;
+
+        private Elements(int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        protected void removeRange(int from, int to) {
+            for (int i = from; i < to; i++) {
+                Node node = get(i);
+                node.index = i;
+                node.type = Type.UNDEFINED;
+                node.value = null;
+                node.hash = 0;
+            }
+            super.removeRange(from, to);
+            stale = Math.min(stale, from);
+        }
+
     }
 
 }
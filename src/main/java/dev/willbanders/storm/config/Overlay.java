@@ -0,0 +1,234 @@
+package dev.willbanders.storm.config;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A view of an ordered stack of configs, such as a base config followed by
+ * region, host, and environment overrides, which are merged on demand.
+ *
+ * <p>Layers are ordered from lowest to highest priority, and a defined value
+ * in a higher layer overrides values in lower layers. Objects and arrays in
+ * consecutive layers are combined according to the {@link ObjectRule} and
+ * {@link ArrayRule}, which default to {@link ObjectRule#MERGE} and {@link
+ * ArrayRule#REPLACE}. Comments are taken from the highest layer defining a
+ * comment for that value.</p>
+ *
+ * <p>Only the subtree at a resolved path is merged, and the merged tree is
+ * never materialized unless the root is resolved. Results are cached until
+ * any node in the hierarchy of a layer is modified, including changes to
+ * comments. Returned nodes are shared between lookups and must not be
+ * modified; use {@link Node#copy()} if a modifiable node is needed.</p>
+ *
+ * <p>Lookups are synchronized, and thus an overlay may be shared between
+ * threads provided the layers are not modified concurrently.</p>
+ */
+public final class Overlay {
+
+    public enum ObjectRule {
+        /**
+         * Objects are merged key by key, with each key merged recursively.
+         */
+        MERGE,
+        /**
+         * Objects in higher layers replace objects in lower layers.
+         */
+        REPLACE
+    }
+
+    public enum ArrayRule {
+        /**
+         * Arrays in higher layers are appended to arrays in lower layers.
+         */
+        APPEND,
+        /**
+         * Arrays in higher layers replace arrays in lower layers.
+         */
+        REPLACE
+    }
+
+    private static final int CACHE_SIZE = 256;
+
+    private final List<Node> layers;
+    private final ObjectRule objects;
+    private final ArrayRule arrays;
+    private final Map<List<Object>, Node> cache = new LinkedHashMap<List<Object>, Node>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, Node> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private final Node[] roots;
+    private final int[] modifications;
+
+    private Overlay(List<Node> layers, ObjectRule objects, ArrayRule arrays) {
+        this.layers = layers;
+        this.objects = objects;
+        this.arrays = arrays;
+        this.roots = new Node[layers.size()];
+        this.modifications = new int[layers.size()];
+    }
+
+    /**
+     * Returns an overlay of the given layers, ordered from lowest to highest
+     * priority.
+     */
+    public static Overlay of(Node... layers) {
+        return new Overlay(ImmutableList.copyOf(layers), ObjectRule.MERGE, ArrayRule.REPLACE);
+    }
+
+    /**
+     * Returns a new overlay using the given rule for combining objects.
+     */
+    public Overlay objects(ObjectRule objects) {
+        return new Overlay(layers, objects, arrays);
+    }
+
+    /**
+     * Returns a new overlay using the given rule for combining arrays.
+     */
+    public Overlay arrays(ArrayRule arrays) {
+        return new Overlay(layers, objects, arrays);
+    }
+
+    public List<Node> getLayers() {
+        return layers;
+    }
+
+    /**
+     * Returns the merged node at the given path as a new root node, or an
+     * {@link Node.Type#UNDEFINED} node if no layer defines the path. The path
+     * is resolved as in {@link Node#resolve(Object...)}, and a value in a
+     * higher layer overrides the children of lower layers along the path.
+     *
+     * @throws IllegalArgumentException if a key in the path is invalid.
+     */
+    public synchronized Node resolve(Object... path) {
+        validate();
+        List<Object> key = ImmutableList.copyOf(path);
+        Node node = cache.get(key);
+        if (node == null) {
+            List<Node> nodes = Lists.newArrayList();
+            for (Node layer : Lists.reverse(layers)) {
+                if (layer.getType() != Node.Type.UNDEFINED) {
+                    nodes.add(layer);
+                }
+            }
+            for (Object element : path) {
+                Preconditions.checkArgument(element instanceof Integer && (int) element >= 0 || element instanceof String,
+                        "Key must be a non-negative integer or string.");
+                nodes = nodes.isEmpty() ? nodes : children(contributing(nodes), element);
+            }
+            node = nodes.isEmpty() ? Node.root() : merge(nodes);
+            cache.put(key, node);
+        }
+        return node;
+    }
+
+    /**
+     * Returns the fully merged config as a new root node.
+     */
+    public Node merge() {
+        return resolve();
+    }
+
+    /**
+     * Clears the cache if the hierarchy of any layer has been modified since
+     * the last lookup, which is tracked by the root of each hierarchy.
+     */
+    private void validate() {
+        boolean modified = false;
+        for (int i = 0; i < layers.size(); i++) {
+            Node root = layers.get(i).getRoot();
+            if (root != roots[i] || root.getModifications() != modifications[i]) {
+                roots[i] = root;
+                modifications[i] = root.getModifications();
+                modified = true;
+            }
+        }
+        if (modified) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the nodes which are combined with the highest priority node,
+     * which are all consecutive nodes of the same type when the type is
+     * combined by the current rules. Nodes are ordered from highest to lowest
+     * priority and are all defined.
+     */
+    private List<Node> contributing(List<Node> nodes) {
+        Node.Type type = nodes.get(0).getType();
+        if (type == Node.Type.OBJECT && objects == ObjectRule.MERGE || type == Node.Type.ARRAY && arrays == ArrayRule.APPEND) {
+            int size = 1;
+            while (size < nodes.size() && nodes.get(size).getType() == type) {
+                size++;
+            }
+            return nodes.subList(0, size);
+        }
+        return nodes.subList(0, 1);
+    }
+
+    private List<Node> children(List<Node> nodes, Object key) {
+        List<Node> children = Lists.newArrayList();
+        if (nodes.get(0).getType() == Node.Type.OBJECT && key instanceof String) {
+            for (Node node : nodes) {
+                Node child = node.getMap().get(key);
+                if (child != null) {
+                    children.add(child);
+                }
+            }
+        } else if (nodes.get(0).getType() == Node.Type.ARRAY && key instanceof Integer) {
+            int index = (int) key;
+            for (Node node : Lists.reverse(nodes)) {
+                if (index < node.getList().size()) {
+                    children.add(node.getList().get(index));
+                    break;
+                }
+                index -= node.getList().size();
+            }
+        }
+        return children;
+    }
+
+    private Node merge(List<Node> nodes) {
+        List<Node> contributing = contributing(nodes);
+        if (contributing.size() == 1) {
+            return contributing.get(0).copy();
+        }
+        Node result = Node.root();
+        if (contributing.get(0).getType() == Node.Type.OBJECT) {
+            Set<String> keys = Sets.newLinkedHashSet();
+            for (Node node : Lists.reverse(contributing)) {
+                keys.addAll(node.getMap().keySet());
+            }
+            result.attach().setValue(Maps.newLinkedHashMapWithExpectedSize(keys.size()));
+            for (String key : keys) {
+                result.graft(ImmutableList.of(key), merge(children(contributing, key)));
+            }
+        } else {
+            result.attach().setValue(ImmutableList.of());
+            for (Node node : Lists.reverse(contributing)) {
+                for (Node element : node.getList()) {
+                    result.graft(ImmutableList.of(result.getList().size()), element.copy());
+                }
+            }
+        }
+        for (Node node : contributing) {
+            if (!node.getComment().isEmpty()) {
+                result.setComment(node.getComment());
+                break;
+            }
+        }
+        return result;
+    }
+
+}
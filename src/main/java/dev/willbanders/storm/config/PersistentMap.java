@@ -0,0 +1,301 @@
+package dev.willbanders.storm.config;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable map with string keys which preserves insertion order, where
+ * updates share most of their structure with the original map.
+ *
+ * <p>Entries are stored in insertion order in a {@link PersistentVector}, and
+ * a hash array mapped trie maps each key to the index of its entry. Removed
+ * entries leave a hole in the vector which is skipped during iteration, and
+ * the vector is compacted once at least half of it is holes. Looking up,
+ * replacing, adding, and removing an entry take {@code O(log32 n)} time, with
+ * removal being amortized. The map itself is unmodifiable, and updates are
+ * performed with {@link #plus(String, Object)} and {@link #minus(String)}.</p>
+ */
+final class PersistentMap<V> extends AbstractMap<String, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentMap<?> EMPTY = new PersistentMap<>(PersistentVector.of(), Trie.EMPTY, 0);
+
+    private final PersistentVector<Map.Entry<String, V>> entries;
+    private final Trie index;
+    private final int size;
+
+    private PersistentMap(PersistentVector<Map.Entry<String, V>> entries, Trie index, int size) {
+        this.entries = entries;
+        this.index = index;
+        this.size = size;
+    }
+
+    static <V> PersistentMap<V> of() {
+        return (PersistentMap<V>) EMPTY;
+    }
+
+    /**
+     * Returns a map containing the entries of the given map, in the order of
+     * its iteration.
+     */
+    static <V> PersistentMap<V> copyOf(Map<String, ? extends V> map) {
+        List<Map.Entry<String, V>> entries = Lists.newArrayListWithCapacity(map.size());
+        Trie index = Trie.EMPTY;
+        for (Map.Entry<String, ? extends V> entry : map.entrySet()) {
+            index = index.put(0, hash(entry.getKey()), entry.getKey(), entries.size());
+            entries.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+        }
+        return new PersistentMap<>(PersistentVector.copyOf(entries), index, entries.size());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && index.get(0, hash((String) key), (String) key) >= 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        int i = key instanceof String ? index.get(0, hash((String) key), (String) key) : -1;
+        return i >= 0 ? entries.get(i).getValue() : null;
+    }
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet() {
+        return new AbstractSet<Map.Entry<String, V>>() {
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Iterator<Map.Entry<String, V>> iterator() {
+                Iterator<Map.Entry<String, V>> iterator = entries.iterator();
+                return new Iterator<Map.Entry<String, V>>() {
+
+                    private Map.Entry<String, V> next = advance();
+
+                    private Map.Entry<String, V> advance() {
+                        while (iterator.hasNext()) {
+                            Map.Entry<String, V> entry = iterator.next();
+                            if (entry != null) {
+                                return entry;
+                            }
+                        }
+                        return null;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next != null;
+                    }
+
+                    @Override
+                    public Map.Entry<String, V> next() {
+                        if (next == null) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<String, V> entry = next;
+                        next = advance();
+                        return entry;
+                    }
+
+                };
+            }
+
+        };
+    }
+
+    /**
+     * Returns a map with the given key mapped to the given value. An existing
+     * key keeps its position, and otherwise the key is added last.
+     */
+    PersistentMap<V> plus(String key, V value) {
+        int hash = hash(key);
+        int i = index.get(0, hash, key);
+        Map.Entry<String, V> entry = new SimpleImmutableEntry<>(key, value);
+        if (i >= 0) {
+            return new PersistentMap<>(entries.with(i, entry), index, size);
+        }
+        return new PersistentMap<>(entries.plus(entry), index.put(0, hash, key, entries.size()), size + 1);
+    }
+
+    /**
+     * Returns a map without the given key, or this map if the key is not
+     * present.
+     */
+    PersistentMap<V> minus(String key) {
+        int hash = hash(key);
+        int i = index.get(0, hash, key);
+        if (i < 0) {
+            return this;
+        } else if (size == 1) {
+            return of();
+        } else if (size - 1 <= entries.size() / 2) {
+            Map<String, V> map = Maps.newLinkedHashMap(this);
+            map.remove(key);
+            return copyOf(map);
+        }
+        return new PersistentMap<>(entries.with(i, null), index.remove(0, hash, key), size - 1);
+    }
+
+    private static int hash(String key) {
+        int hash = key.hashCode();
+        return hash ^ hash >>> 16;
+    }
+
+    /**
+     * A node of the hash array mapped trie, which maps keys to indices. Each
+     * node consumes five bits of the hash, and keys with the same hash are
+     * stored together in a single node.
+     */
+    private static final class Trie {
+
+        private static final Trie EMPTY = new Trie(0, new Object[0]);
+
+        /**
+         * For nodes with children, a bit is set for each five bit chunk of
+         * the hash present in the node. For nodes of colliding keys, this is
+         * the hash of the keys and {@link #collision} is true.
+         */
+        private final int bitmap;
+        private final boolean collision;
+
+        /**
+         * Pairs of slots, which are either a key and its index or {@code null}
+         * and a child node.
+         */
+        private final Object[] slots;
+
+        private Trie(int bitmap, Object[] slots) {
+            this(bitmap, false, slots);
+        }
+
+        private Trie(int bitmap, boolean collision, Object[] slots) {
+            this.bitmap = bitmap;
+            this.collision = collision;
+            this.slots = slots;
+        }
+
+        /**
+         * Returns the index of the given key, or -1 if it is not present.
+         */
+        private int get(int shift, int hash, String key) {
+            if (collision) {
+                int i = find(key);
+                return i >= 0 ? (int) slots[i + 1] : -1;
+            }
+            int bit = 1 << (hash >>> shift & MASK);
+            if ((bitmap & bit) == 0) {
+                return -1;
+            }
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if (slots[i] == null) {
+                return ((Trie) slots[i + 1]).get(shift + BITS, hash, key);
+            }
+            return key.equals(slots[i]) ? (int) slots[i + 1] : -1;
+        }
+
+        private Trie put(int shift, int hash, String key, int index) {
+            if (collision) {
+                if (hash != bitmap) {
+                    return new Trie(1 << (bitmap >>> shift & MASK), new Object[] {null, this}).put(shift, hash, key, index);
+                }
+                int i = find(key);
+                Object[] slots = i >= 0 ? this.slots.clone() : Arrays.copyOf(this.slots, this.slots.length + 2);
+                i = i >= 0 ? i : this.slots.length;
+                slots[i] = key;
+                slots[i + 1] = index;
+                return new Trie(bitmap, true, slots);
+            }
+            int bit = 1 << (hash >>> shift & MASK);
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                Object[] slots = new Object[this.slots.length + 2];
+                System.arraycopy(this.slots, 0, slots, 0, i);
+                System.arraycopy(this.slots, i, slots, i + 2, this.slots.length - i);
+                slots[i] = key;
+                slots[i + 1] = index;
+                return new Trie(bitmap | bit, slots);
+            }
+            Object[] slots = this.slots.clone();
+            if (slots[i] == null) {
+                slots[i + 1] = ((Trie) slots[i + 1]).put(shift + BITS, hash, key, index);
+            } else if (key.equals(slots[i])) {
+                slots[i + 1] = index;
+            } else {
+                String existing = (String) slots[i];
+                slots[i + 1] = pair(shift + BITS, hash(existing), existing, (int) slots[i + 1], hash, key, index);
+                slots[i] = null;
+            }
+            return new Trie(bitmap, slots);
+        }
+
+        private static Trie pair(int shift, int hash1, String key1, int index1, int hash2, String key2, int index2) {
+            if (hash1 == hash2) {
+                return new Trie(hash1, true, new Object[] {key1, index1, key2, index2});
+            }
+            return EMPTY.put(shift, hash1, key1, index1).put(shift, hash2, key2, index2);
+        }
+
+        /**
+         * Returns the trie without the given key, or {@code null} if it would
+         * be empty.
+         */
+        private Trie remove(int shift, int hash, String key) {
+            if (collision) {
+                int i = find(key);
+                return i < 0 ? this : slots.length == 2 ? null : new Trie(bitmap, true, without(i));
+            }
+            int bit = 1 << (hash >>> shift & MASK);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if (slots[i] == null) {
+                Trie child = ((Trie) slots[i + 1]).remove(shift + BITS, hash, key);
+                if (child != null) {
+                    Object[] slots = this.slots.clone();
+                    slots[i + 1] = child;
+                    return new Trie(bitmap, slots);
+                }
+            } else if (!key.equals(slots[i])) {
+                return this;
+            }
+            return bitmap == bit ? null : new Trie(bitmap ^ bit, without(i));
+        }
+
+        private int find(String key) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (key.equals(slots[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Object[] without(int i) {
+            Object[] slots = new Object[this.slots.length - 2];
+            System.arraycopy(this.slots, 0, slots, 0, i);
+            System.arraycopy(this.slots, i + 2, slots, i, slots.length - i);
+            return slots;
+        }
+
+    }
+
+}
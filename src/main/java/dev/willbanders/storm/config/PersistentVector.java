@@ -0,0 +1,257 @@
+package dev.willbanders.storm.config;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable list stored as a trie with 32 children per node, where
+ * updates copy only the path to the changed element and share the rest of
+ * the trie. Elements are stored in the leaves in order, and the last leaf is
+ * kept separately as the tail so appending usually only copies the tail.
+ *
+ * <p>Reading, replacing, and appending an element take {@code O(log32 n)}
+ * time. Removing one of the last 32 elements takes {@code O(log32 n)} time,
+ * while removing any other element shifts the subsequent elements and takes
+ * linear time. The list itself is unmodifiable, and updates are performed
+ * with {@link #with(int, Object)}, {@link #plus(Object)}, and {@link
+ * #minus(int)}.</p>
+ */
+final class PersistentVector<E> extends AbstractList<E> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, new Object[WIDTH], new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    static <E> PersistentVector<E> of() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Returns a vector containing the given elements, which is built in
+     * linear time from the leaves up.
+     */
+    static <E> PersistentVector<E> copyOf(List<? extends E> elements) {
+        int size = elements.size();
+        if (size == 0) {
+            return of();
+        }
+        int offset = (size - 1) >>> BITS << BITS;
+        Object[] tail = elements.subList(offset, size).toArray();
+        Object[][] nodes = new Object[offset >>> BITS][];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = elements.subList(i << BITS, (i + 1) << BITS).toArray(new Object[WIDTH]);
+        }
+        int shift = BITS;
+        while (nodes.length > WIDTH) {
+            Object[][] parents = new Object[(nodes.length + MASK) >>> BITS][];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = Arrays.copyOf(Arrays.copyOfRange(nodes, i << BITS, Math.min(nodes.length, (i + 1) << BITS)), WIDTH, Object[].class);
+            }
+            nodes = parents;
+            shift += BITS;
+        }
+        return new PersistentVector<>(size, shift, Arrays.copyOf(nodes, WIDTH, Object[].class), tail);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public E get(int index) {
+        Preconditions.checkElementIndex(index, size);
+        return (E) leaf(index)[index & MASK];
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            private int index = 0;
+            private Object[] leaf = null;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public E next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                } else if ((index & MASK) == 0 || leaf == null) {
+                    leaf = leaf(index);
+                }
+                return (E) leaf[index++ & MASK];
+            }
+
+        };
+    }
+
+    /**
+     * Returns a vector with the element at the given index replaced.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    PersistentVector<E> with(int index, E element) {
+        Preconditions.checkElementIndex(index, size);
+        if (index >= tailOffset()) {
+            Object[] tail = this.tail.clone();
+            tail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, tail);
+        }
+        return new PersistentVector<>(size, shift, replace(shift, root, index, element), tail);
+    }
+
+    private static Object[] replace(int level, Object[] node, int index, Object element) {
+        Object[] copy = node.clone();
+        if (level == 0) {
+            copy[index & MASK] = element;
+        } else {
+            int child = (index >>> level) & MASK;
+            copy[child] = replace(level - BITS, (Object[]) node[child], index, element);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a vector with the given element appended.
+     */
+    PersistentVector<E> plus(E element) {
+        if (size - tailOffset() < WIDTH) {
+            Object[] tail = Arrays.copyOf(this.tail, this.tail.length + 1);
+            tail[this.tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, tail);
+        }
+        Object[] root;
+        int shift = this.shift;
+        if (size >>> BITS > 1 << this.shift) {
+            root = new Object[WIDTH];
+            root[0] = this.root;
+            root[1] = path(this.shift, tail);
+            shift += BITS;
+        } else {
+            root = push(this.shift, this.root, tail);
+        }
+        return new PersistentVector<>(size + 1, shift, root, new Object[] {element});
+    }
+
+    /**
+     * Returns a copy of the given node with the full tail added as the next
+     * leaf, where the tail is the leaf containing the last element.
+     */
+    private Object[] push(int level, Object[] node, Object[] tail) {
+        int child = ((size - 1) >>> level) & MASK;
+        Object[] copy = node.clone();
+        if (level == BITS) {
+            copy[child] = tail;
+        } else {
+            Object[] next = (Object[]) node[child];
+            copy[child] = next != null ? push(level - BITS, next, tail) : path(level - BITS, tail);
+        }
+        return copy;
+    }
+
+    private static Object[] path(int level, Object[] leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+        Object[] node = new Object[WIDTH];
+        node[0] = path(level - BITS, leaf);
+        return node;
+    }
+
+    /**
+     * Returns a vector with the element at the given index removed, shifting
+     * subsequent elements to fill the hole left by removal.
+     *
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    PersistentVector<E> minus(int index) {
+        Preconditions.checkElementIndex(index, size);
+        int offset = tailOffset();
+        if (index < offset) {
+            List<E> elements = Lists.newArrayList(this);
+            elements.remove(index);
+            return copyOf(elements);
+        } else if (size == 1) {
+            return of();
+        } else if (size - offset > 1) {
+            Object[] tail = new Object[this.tail.length - 1];
+            System.arraycopy(this.tail, 0, tail, 0, index - offset);
+            System.arraycopy(this.tail, index - offset + 1, tail, index - offset, tail.length - (index - offset));
+            return new PersistentVector<>(size - 1, shift, root, tail);
+        }
+        Object[] tail = leaf(size - 2);
+        Object[] root = pop(shift, this.root);
+        int shift = this.shift;
+        if (root == null) {
+            root = new Object[WIDTH];
+        } else if (shift > BITS && root[1] == null) {
+            root = (Object[]) root[0];
+            shift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, shift, root, tail);
+    }
+
+    /**
+     * Returns a copy of the given node with the last leaf removed, or
+     * {@code null} if the node would be empty.
+     */
+    private Object[] pop(int level, Object[] node) {
+        int child = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Object[] next = pop(level - BITS, (Object[]) node[child]);
+            if (next == null && child == 0) {
+                return null;
+            }
+            Object[] copy = node.clone();
+            copy[child] = next;
+            return copy;
+        } else if (child == 0) {
+            return null;
+        }
+        Object[] copy = node.clone();
+        copy[child] = null;
+        return copy;
+    }
+
+    private int tailOffset() {
+        return size == 0 ? 0 : (size - 1) >>> BITS << BITS;
+    }
+
+    /**
+     * Returns the leaf containing the element at the given index.
+     */
+    private Object[] leaf(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+}
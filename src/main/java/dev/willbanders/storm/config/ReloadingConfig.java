@@ -0,0 +1,215 @@
+package dev.willbanders.storm.config;
+
+import com.google.common.base.Preconditions;
+import dev.willbanders.storm.format.ParseException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A config loaded from a file which is reloaded when the file changes.
+ *
+ * <p>The file is watched using a {@link WatchService}, and bursts of change
+ * events are debounced into a single reload on a background thread. Once
+ * reparsed, the new root is published atomically and listeners are notified
+ * of the changes as computed by {@link Diff}. If the file cannot be read or
+ * parsed, the last successfully parsed root is kept and listeners are
+ * notified of the failure instead.</p>
+ *
+ * <p>Published roots are shared between threads and must not be modified.
+ * Use {@link Node#copy()} if a modifiable copy is needed.</p>
+ */
+public final class ReloadingConfig implements Closeable {
+
+    /**
+     * A listener for reloads of a config, called from the reloading thread.
+     * Exceptions thrown by a listener are reported to the uncaught exception
+     * handler of that thread, and do not prevent other listeners from being
+     * notified.
+     */
+    public interface Listener {
+
+        /**
+         * Called after the config was reloaded with the given changes, which
+         * is never empty.
+         */
+        void reloaded(Node previous, Node current, List<Diff.Change> changes);
+
+        /**
+         * Called if the config could not be reloaded, in which case the
+         * previous root is kept. Parse errors are reported as a {@link
+         * ParseException} containing the diagnostic, and other exceptions
+         * thrown by the parser are reported as is.
+         */
+        default void failed(Exception exception) {}
+
+    }
+
+    private final Path file;
+    private final Function<String, Node> parser;
+    private final Duration debounce;
+    private final AtomicReference<Node> root = new AtomicReference<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final WatchService watcher;
+    private final ScheduledExecutorService executor;
+    private final AtomicReference<ScheduledFuture<?>> pending = new AtomicReference<>();
+
+    private ReloadingConfig(Path file, Function<String, Node> parser, Duration debounce) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.parser = parser;
+        this.debounce = debounce;
+        root.set(parser.apply(read()));
+        watcher = this.file.getFileSystem().newWatchService();
+        try {
+            this.file.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | RuntimeException e) {
+            watcher.close();
+            throw e;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Storm Reload " + this.file.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Thread thread = new Thread(this::watch, "Storm Watch " + this.file.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Loads the given file with the given parser, such as {@link
+     * dev.willbanders.storm.format.storm.StormParser#parse(String)}, and
+     * watches it for changes using a debounce of 100 milliseconds.
+     *
+     * @throws IOException if the file could not be read or watched
+     * @throws ParseException if the file could not be parsed
+     */
+    public static ReloadingConfig watch(Path file, Function<String, Node> parser) throws IOException {
+        return watch(file, parser, Duration.ofMillis(100));
+    }
+
+    /**
+     * Loads the given file with the given parser and watches it for changes,
+     * waiting until no changes have occurred for the debounce duration before
+     * reloading.
+     *
+     * @throws IOException if the file could not be read or watched
+     * @throws ParseException if the file could not be parsed
+     */
+    public static ReloadingConfig watch(Path file, Function<String, Node> parser, Duration debounce) throws IOException {
+        Preconditions.checkArgument(!debounce.isNegative(), "Debounce duration must be non-negative.");
+        return new ReloadingConfig(file, parser, debounce);
+    }
+
+    /**
+     * Returns the current root, which is the last successfully parsed root.
+     */
+    public Node get() {
+        return root.get();
+    }
+
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Reloads the config immediately on the calling thread, which is also used
+     * by the watcher after debouncing.
+     */
+    public synchronized void reload() {
+        Node current;
+        try {
+            current = parser.apply(read());
+        } catch (IOException | RuntimeException e) {
+            publish(l -> l.failed(e));
+            return;
+        }
+        Node previous = root.getAndSet(current);
+        List<Diff.Change> changes = Diff.between(previous, current);
+        if (!changes.isEmpty()) {
+            publish(l -> l.reloaded(previous, current, changes));
+        }
+    }
+
+    /**
+     * Notifies each listener, reporting exceptions thrown by a listener to the
+     * uncaught exception handler of the current thread.
+     */
+    private void publish(Consumer<Listener> notification) {
+        for (Listener listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+
+    private String read() throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                        schedule();
+                    }
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException | RejectedExecutionException ignored) {
+            // The config was closed, so the watcher exits.
+        }
+    }
+
+    /**
+     * Schedules a reload after the debounce duration, cancelling any pending
+     * reload. This does not lock the config, so the watcher is not blocked
+     * by a reload in progress.
+     */
+    private void schedule() {
+        ScheduledFuture<?> previous = pending.getAndSet(executor.schedule(this::reload, debounce.toNanos(), TimeUnit.NANOSECONDS));
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Stops watching the file. The current root remains available.
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        watcher.close();
+    }
+
+}
@@ -0,0 +1,254 @@
+package dev.willbanders.storm.config;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of a node hierarchy, which can be safely shared
+ * between threads without synchronization.
+ *
+ * <p>Snapshots are persistent: {@link #with(List, Object)} and {@link
+ * #without(List)} return a new snapshot and leave this one unchanged. Only the
+ * snapshots along the modified path are copied, and all other subtrees are
+ * shared with the original. A common pattern is to publish the current
+ * snapshot through an {@link java.util.concurrent.atomic.AtomicReference},
+ * allowing readers to hold a consistent version while a writer prepares the
+ * next one.</p>
+ *
+ * <p>Children are stored in persistent tries with 32 children per node, so
+ * each snapshot on the path copies only {@code O(log n)} of its children
+ * rather than its full list or map. Replacing or adding a value therefore
+ * takes {@code O(log n)} time per level of the path, as does removing a key
+ * from an object. Removing an array element shifts the subsequent elements,
+ * and is linear unless the element is one of the last 32 in the array.</p>
+ *
+ * <p>Unlike {@link Node}, snapshots do not have a parent or key, and thus the
+ * same snapshot may appear at multiple paths.</p>
+ */
+public final class Snapshot {
+
+    private static final Snapshot UNDEFINED = new Snapshot(Node.Type.UNDEFINED, "", null);
+
+    private final Node.Type type;
+    private final String comment;
+    private final Object value;
+
+    private Snapshot(Node.Type type, String comment, Object value) {
+        this.type = type;
+        this.comment = comment;
+        this.value = value;
+    }
+
+    /**
+     * Returns a snapshot of the given node and its children, including
+     * comments. The node is not required to be the root.
+     */
+    public static Snapshot of(Node node) {
+        switch (node.getType()) {
+            case UNDEFINED:
+                return UNDEFINED;
+            case ARRAY:
+                List<Snapshot> list = Lists.newArrayListWithCapacity(node.getList().size());
+                node.getList().forEach(n -> list.add(of(n)));
+                return new Snapshot(Node.Type.ARRAY, node.getComment(), PersistentVector.copyOf(list));
+            case OBJECT:
+                Map<String, Snapshot> map = Maps.newLinkedHashMapWithExpectedSize(node.getMap().size());
+                node.getMap().forEach((k, n) -> map.put(k, of(n)));
+                return new Snapshot(Node.Type.OBJECT, node.getComment(), PersistentMap.copyOf(map));
+            default:
+                return new Snapshot(node.getType(), node.getComment(), node.getValue());
+        }
+    }
+
+    /**
+     * Returns a new root node containing a copy of this snapshot, including
+     * comments.
+     */
+    public Node toNode() {
+        Node root = Node.root();
+        copy(root);
+        return root;
+    }
+
+    private void copy(Node node) {
+        if (type == Node.Type.UNDEFINED) {
+            return;
+        }
+        node.setComment(comment);
+        switch (type) {
+            case ARRAY:
+                node.attach().setValue(Lists.newArrayList());
+                List<Snapshot> list = getList();
+                for (int i = 0; i < list.size(); i++) {
+                    list.get(i).copy(node.resolve(i));
+                }
+                break;
+            case OBJECT:
+                node.attach().setValue(Maps.newLinkedHashMap());
+                getMap().forEach((k, s) -> s.copy(node.resolve(k)));
+                break;
+            default:
+                node.attach().setValue(value);
+        }
+    }
+
+    /**
+     * Returns the comment of this snapshot. An empty string represents no
+     * comment.
+     */
+    public String getComment() {
+        return comment;
+    }
+
+    /**
+     * Returns the {@link Node.Type} of this snapshot.
+     */
+    public Node.Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the value of this snapshot as an object, using the same classes
+     * as {@link Node#getValue()}.
+     *
+     * @throws IllegalStateException if the snapshot is undefined.
+     */
+    public Object getValue() {
+        Preconditions.checkState(type != Node.Type.UNDEFINED, "Cannot get value from undefined snapshot.");
+        switch (type) {
+            case ARRAY:
+                return Lists.newArrayList(Lists.transform(getList(), Snapshot::getValue));
+            case OBJECT:
+                return Maps.newLinkedHashMap(Maps.transformValues(getMap(), Snapshot::getValue));
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Returns an unmodifiable list of the children of this snapshot, provided
+     * it is an {@link Node.Type#ARRAY}.
+     */
+    public List<Snapshot> getList() {
+        Preconditions.checkState(type == Node.Type.ARRAY, "Cannot get list from value of type " + type + ".");
+        return (PersistentVector<Snapshot>) value;
+    }
+
+    /**
+     * Returns an unmodifiable map of the children of this snapshot, provided
+     * it is an {@link Node.Type#OBJECT}.
+     */
+    public Map<String, Snapshot> getMap() {
+        Preconditions.checkState(type == Node.Type.OBJECT, "Cannot get map from value of type " + type + ".");
+        return (PersistentMap<Snapshot>) value;
+    }
+
+    /**
+     * Returns the snapshot located at the given path relative to this one, or
+     * an undefined snapshot if the path does not exist.
+     *
+     * @throws IllegalArgumentException if a key in the path is invalid.
+     * @see Node#resolve(Object...)
+     */
+    public Snapshot resolve(Object... path) {
+        Snapshot snapshot = this;
+        for (Object key : path) {
+            snapshot = snapshot.child(key);
+        }
+        return snapshot;
+    }
+
+    private Snapshot child(Object key) {
+        if (key instanceof Integer) {
+            Preconditions.checkArgument((int) key >= 0, "Index must be non-negative.");
+            if (type == Node.Type.ARRAY && (int) key < getList().size()) {
+                return getList().get((int) key);
+            }
+        } else if (key instanceof String) {
+            Snapshot child = type == Node.Type.OBJECT ? getMap().get(key) : null;
+            if (child != null) {
+                return child;
+            }
+        } else {
+            throw new IllegalArgumentException("Key must be an integer or string.");
+        }
+        return UNDEFINED;
+    }
+
+    /**
+     * Returns a new snapshot with the value at the given path replaced, using
+     * the same values as {@link Node#setValue(Object)}. The comment of an
+     * existing value is retained.
+     *
+     * <p>As with {@link Node#attach()}, intermediate values are created as
+     * necessary provided no existing values would be overwritten, and arrays
+     * are padded with {@code null} values to prevent holes.</p>
+     *
+     * <p>Each snapshot on the path shares most of its children with the
+     * original, and thus this is {@code O(log n)} per level of the path.</p>
+     *
+     * @throws IllegalArgumentException if the given value is unsupported
+     * @throws IllegalStateException if existing values would be overwritten
+     */
+    public Snapshot with(List<Object> path, Object value) {
+        Node node = Node.root();
+        node.attach().setValue(value);
+        return with(path, 0, of(node));
+    }
+
+    private Snapshot with(List<Object> path, int index, Snapshot replacement) {
+        if (index == path.size()) {
+            return new Snapshot(replacement.type, comment, replacement.value);
+        }
+        Object key = path.get(index);
+        Snapshot child = child(key).with(path, index + 1, replacement);
+        if (key instanceof Integer) {
+            Preconditions.checkState(type == Node.Type.ARRAY || type == Node.Type.UNDEFINED, "Cannot attach array child to value of type " + type + ".");
+            PersistentVector<Snapshot> list = type == Node.Type.ARRAY ? (PersistentVector<Snapshot>) value : PersistentVector.of();
+            if ((int) key < list.size()) {
+                return new Snapshot(Node.Type.ARRAY, comment, list.with((int) key, child));
+            }
+            Snapshot padding = new Snapshot(Node.Type.NULL, "", null);
+            while (list.size() < (int) key) {
+                list = list.plus(padding);
+            }
+            return new Snapshot(Node.Type.ARRAY, comment, list.plus(child));
+        } else {
+            Preconditions.checkState(type == Node.Type.OBJECT || type == Node.Type.UNDEFINED, "Cannot attach object child to value of type " + type + ".");
+            PersistentMap<Snapshot> map = type == Node.Type.OBJECT ? (PersistentMap<Snapshot>) value : PersistentMap.of();
+            return new Snapshot(Node.Type.OBJECT, comment, map.plus((String) key, child));
+        }
+    }
+
+    /**
+     * Returns a new snapshot with the value at the given path removed. As with
+     * {@link Node#detach()}, subsequent array elements are shifted to fill the
+     * hole left by removal. If the path does not exist, this snapshot is
+     * returned. Removing a key is {@code O(log n)} per level of the path as
+     * with {@link #with(List, Object)}, while removing an array element is
+     * linear unless it is one of the last 32 elements.
+     */
+    public Snapshot without(List<Object> path) {
+        if (path.isEmpty()) {
+            return UNDEFINED;
+        }
+        Object key = path.get(0);
+        Snapshot child = child(key);
+        if (child.type == Node.Type.UNDEFINED) {
+            return this;
+        }
+        Snapshot updated = child.without(path.subList(1, path.size()));
+        if (key instanceof Integer) {
+            PersistentVector<Snapshot> list = (PersistentVector<Snapshot>) value;
+            return new Snapshot(Node.Type.ARRAY, comment, updated.type == Node.Type.UNDEFINED ? list.minus((int) key) : list.with((int) key, updated));
+        } else {
+            PersistentMap<Snapshot> map = (PersistentMap<Snapshot>) value;
+            return new Snapshot(Node.Type.OBJECT, comment, updated.type == Node.Type.UNDEFINED ? map.minus((String) key) : map.plus((String) key, updated));
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package dev.willbanders.storm.config;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Interner;
+import com.google.common.math.IntMath;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded pool of weakly referenced strings used to deduplicate repeated
+ * values, such as hostnames or tags, across parses and serializers.
+ *
+ * <p>The pool is a fixed-size table indexed by hash, and thus an entry may be
+ * replaced by another string with the same index. Interning is therefore
+ * lossy and may return an equal but distinct instance, but memory is bounded
+ * by the capacity and strings are not retained once otherwise unreachable.
+ * This trades the exactness of {@link String#intern()} or a weak {@link
+ * Interner} for a constant lookup cost without locking. Pools are safe to use
+ * concurrently.</p>
+ */
+public final class StringPool implements Interner<String> {
+
+    /**
+     * A shared pool used by default, which holds up to 4096 strings.
+     */
+    public static final StringPool SHARED = new StringPool(4096);
+
+    private final AtomicReferenceArray<WeakReference<String>> table;
+    private final int mask;
+
+    /**
+     * Creates a pool holding up to the given number of strings, which is
+     * rounded up to a power of two.
+     *
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public StringPool(int capacity) {
+        Preconditions.checkArgument(capacity > 0 && capacity <= 1 << 30, "Capacity must be in [1, 2^30].");
+        int size = IntMath.ceilingPowerOfTwo(capacity);
+        this.table = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns the pooled instance equal to the given string if present, else
+     * adds the given string to the pool and returns it.
+     */
+    @Override
+    public String intern(String value) {
+        int hash = value.hashCode();
+        int index = (hash ^ hash >>> 16) & mask;
+        WeakReference<String> reference = table.get(index);
+        String existing = reference != null ? reference.get() : null;
+        if (existing != null && existing.equals(value)) {
+            return existing;
+        }
+        table.set(index, new WeakReference<>(value));
+        return value;
+    }
+
+}
@@ -1,7 +1,9 @@
 package dev.willbanders.storm.format;
 
 import com.google.common.base.Preconditions;
+import dev.willbanders.storm.Storm;
 import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.metrics.Metrics;
 
 import java.io.PrintWriter;
 
@@ -9,18 +11,24 @@ public abstract class Generator {
 
     private final PrintWriter writer;
     protected int indent = 0;
+    private long characters = 0;
 
     protected Generator(PrintWriter writer) {
         this.writer = writer;
     }
 
     public void generate(Node node) {
+        Metrics metrics = Storm.getMetrics();
+        long start = metrics != Metrics.NONE ? System.nanoTime() : 0;
         if (node.isRoot()) {
             generateRoot(node);
         } else {
             generateNode(node);
         }
         writer.flush();
+        if (metrics != Metrics.NONE) {
+            metrics.generated(getClass(), characters, System.nanoTime() - start);
+        }
     }
 
     protected void generateRoot(Node root) {
@@ -91,13 +99,16 @@ public abstract class Generator {
             if (object instanceof Node) {
                 generateNode((Node) object);
             } else {
-                writer.print(object);
+                String string = String.valueOf(object);
+                characters += string.length();
+                writer.print(string);
             }
         }
     }
 
     protected final void newline(int indent) {
         writer.println();
+        characters += System.lineSeparator().length() + 4 * indent;
         for (int i = 0; i < indent; i++) {
             writer.print("    ");
         }
@@ -2,13 +2,17 @@ package dev.willbanders.storm.format;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 public abstract class Lexer<T extends Token.Type> {
 
+    private static final Map<String, CharClass> CLASSES = new ConcurrentHashMap<>();
+
     protected final String input;
     protected final CharStream chars = new CharStream();
 
@@ -41,9 +45,14 @@ public abstract class Lexer<T extends Token.Type> {
         if (object instanceof Character) {
             return (Character) object == character;
         } else if (object instanceof String) {
-            return Character.toString(character).matches((String) object);
+            return CLASSES.computeIfAbsent((String) object, CharClass::new).test(character);
         } else if (object instanceof List) {
-            return ((List<?>) object).stream().anyMatch(o -> test(o, character));
+            for (Object o : (List<?>) object) {
+                if (test(o, character)) {
+                    return true;
+                }
+            }
+            return false;
         } else {
             throw new AssertionError();
         }
@@ -105,4 +114,32 @@ public abstract class Lexer<T extends Token.Type> {
 
     }
 
+    /**
+     * A regex matching a single character. ASCII characters, which make up
+     * the vast majority of input, are classified with a bitmask computed once
+     * per regex so the regex engine is only used for other characters.
+     */
+    private static final class CharClass {
+
+        private final Pattern pattern;
+        private final long[] ascii = new long[2];
+
+        private CharClass(String regex) {
+            pattern = Pattern.compile(regex);
+            for (char c = 0; c < 128; c++) {
+                if (pattern.matcher(Character.toString(c)).matches()) {
+                    ascii[c >>> 6] |= 1L << c;
+                }
+            }
+        }
+
+        private boolean test(char character) {
+            if (character < 128) {
+                return (ascii[character >>> 6] & 1L << character) != 0;
+            }
+            return pattern.matcher(Character.toString(character)).matches();
+        }
+
+    }
+
 }
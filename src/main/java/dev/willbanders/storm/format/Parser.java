@@ -2,12 +2,17 @@ package dev.willbanders.storm.format;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.metrics.Metrics;
+import dev.willbanders.storm.metrics.ParseStats;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 public abstract class Parser<T extends Token.Type> {
@@ -15,13 +20,96 @@ public abstract class Parser<T extends Token.Type> {
     protected final Lexer<T> lexer;
     protected final TokenStream tokens = new TokenStream();
     protected final Deque<Diagnostic.Range> context = new ArrayDeque<>();
+    private final Map<String, String> keys;
+    private final Interner<String> strings;
+    protected int nodes = 0;
+    protected int maxDepth = 0;
+    private int depth = 0;
 
     protected Parser(Lexer<T> lexer) throws ParseException {
+        this(lexer, Maps.newHashMap());
+    }
+
+    /**
+     * Creates a parser using the given pool for property keys, which allows
+     * the pool to be shared between parsers (and must then be thread-safe if
+     * used concurrently).
+     *
+     * @see #key(String)
+     */
+    protected Parser(Lexer<T> lexer, Map<String, String> keys) throws ParseException {
+        this(lexer, keys, null);
+    }
+
+    /**
+     * Creates a parser using the given pool for property keys and the given
+     * interner, if not null, for string values and keys.
+     *
+     * @see #key(String)
+     * @see #string(String)
+     */
+    protected Parser(Lexer<T> lexer, Map<String, String> keys, Interner<String> strings) throws ParseException {
         this.lexer = lexer;
+        this.keys = keys;
+        this.strings = strings;
     }
 
     protected abstract Node parse() throws ParseException;
 
+    /**
+     * Parses the input, reporting statistics to the given metrics listener
+     * unless it is {@link Metrics#NONE}.
+     */
+    protected final Node parse(Metrics metrics) throws ParseException {
+        if (metrics == Metrics.NONE) {
+            return parse();
+        }
+        long allocated = Metrics.allocated();
+        long start = System.nanoTime();
+        Node node = parse();
+        long nanos = System.nanoTime() - start;
+        allocated = allocated != -1 ? Metrics.allocated() - allocated : -1;
+        metrics.parsed(getClass(), new ParseStats(lexer.input.length(), tokens.count(), nodes, maxDepth, nanos, allocated));
+        return node;
+    }
+
+    /**
+     * Records entering a value, which is used to track statistics. Each call
+     * must be paired with {@link #exit()}.
+     */
+    protected final void enter() {
+        nodes++;
+        maxDepth = Math.max(maxDepth, ++depth);
+    }
+
+    protected final void exit() {
+        depth--;
+    }
+
+    /**
+     * Returns the canonical instance of a property key for this parse. Records
+     * in large documents typically repeat the same keys, and without this each
+     * object would retain its own copy of every key.
+     */
+    protected final String key(String key) {
+        String existing = keys.get(key);
+        if (existing == null) {
+            String interned = string(key);
+            existing = keys.putIfAbsent(interned, interned);
+            return existing != null ? existing : interned;
+        }
+        return existing;
+    }
+
+    /**
+     * Returns the interned instance of a string value if this parser has an
+     * interner, else the value itself. Unlike keys, values are not pooled
+     * by default as most values in a document are distinct.
+     */
+    protected final String string(String value) {
+        return strings != null ? strings.intern(value) : value;
+    }
+
     protected boolean peek(Object... objects) {
         for (int i = 0; i < objects.length; i++) {
             if (!tokens.has(i) || !test(objects[i], tokens.get(i))) {
@@ -103,6 +191,13 @@ public abstract class Parser<T extends Token.Type> {
             index++;
         }
 
+        /**
+         * Returns the number of tokens lexed so far.
+         */
+        public int count() {
+            return tokens.isEmpty() || tokens.get(tokens.size() - 1) != null ? tokens.size() : tokens.size() - 1;
+        }
+
     }
 
 }
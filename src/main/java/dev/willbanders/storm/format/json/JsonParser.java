@@ -2,81 +2,218 @@ package dev.willbanders.storm.format.json;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Interner;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import dev.willbanders.storm.Storm;
 import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.format.Diagnostic;
 import dev.willbanders.storm.format.ParseException;
 import dev.willbanders.storm.format.Parser;
+import dev.willbanders.storm.metrics.Metrics;
+import dev.willbanders.storm.metrics.ParseStats;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public final class JsonParser extends Parser<JsonTokenType> {
 
     private static final Pattern ESCAPES = Pattern.compile("\\\\(?:([bfnrt\"\\\\/])|u([0-9A-Fa-f]{4}))");
+    private static final int THRESHOLD = 16;
+
+    private Node.Builder builder;
 
     private JsonParser(String input) throws ParseException {
         super(new JsonLexer(input));
     }
 
+    private JsonParser(String input, Map<String, String> keys) throws ParseException {
+        super(new JsonLexer(input), keys);
+    }
+
+    private JsonParser(String input, Interner<String> strings) throws ParseException {
+        super(new JsonLexer(input), Maps.newHashMap(), strings);
+    }
+
     public static Node parse(String input) {
-        return new JsonParser(input).parse();
+        return new JsonParser(input).parse(Storm.getMetrics());
+    }
+
+    /**
+     * Parses the input using the given interner for string values and
+     * property keys, such as a {@link dev.willbanders.storm.config.StringPool}
+     * shared between documents. This avoids retaining a separate copy of
+     * strings repeated throughout or between documents.
+     */
+    public static Node parse(String input, Interner<String> strings) {
+        return new JsonParser(input, strings).parse(Storm.getMetrics());
+    }
+
+    /**
+     * Parses the input using the given pool to parse the elements of a root
+     * array or object in parallel. The elements are located in a single scan
+     * of the input, parsed independently, and attached to the root in order.
+     *
+     * <p>If the input is invalid or the root is not an array or object, the
+     * input is parsed sequentially instead. Diagnostics are therefore always
+     * identical to those from {@link #parse(String)}.</p>
+     */
+    public static Node parse(String input, ForkJoinPool pool) {
+        List<int[]> elements = split(input);
+        if (elements == null) {
+            return parse(input);
+        }
+        long start = System.nanoTime();
+        try {
+            Node.Builder builder = Node.builder();
+            if (input.charAt(skip(input, 0)) == '[') {
+                builder.beginArray(elements.size());
+                for (int i = 0; i < elements.size(); i++) {
+                    builder.value(null);
+                }
+            } else {
+                builder.beginObject(elements.size());
+                Set<String> keys = Sets.newHashSetWithExpectedSize(elements.size());
+                for (int[] element : elements) {
+                    Node key = element[1] != -1 ? new JsonParser(input.substring(element[0], element[1])).parse() : null;
+                    if (key == null || key.getType() != Node.Type.STRING || !keys.add((String) key.getValue())) {
+                        return parse(input);
+                    }
+                    builder.key((String) key.getValue()).value(null);
+                }
+            }
+            Node root = builder.end().build();
+            List<Node> children = Lists.newArrayList(root.getChildren());
+            ParseStats stats = pool.invoke(new ParseTask(input, elements, children, new ConcurrentHashMap<>(), 0, elements.size()));
+            Metrics metrics = Storm.getMetrics();
+            if (metrics != Metrics.NONE) {
+                int separators = Math.max(elements.size() - 1, 0) + 2 + (root.getType() == Node.Type.OBJECT ? 2 * elements.size() : 0);
+                metrics.parsed(JsonParser.class, new ParseStats(input.length(), stats.getTokens() + separators,
+                        stats.getNodes() + 1, stats.getDepth() + 1, System.nanoTime() - start, -1));
+            }
+            return root;
+        } catch (ParseException e) {
+            return parse(input);
+        }
+    }
+
+    /**
+     * Returns the ranges of the elements in a root array or object, or {@code
+     * null} if the root is not an array or object or the input is not well
+     * nested. Each range contains the start index, the index of the colon for
+     * object properties (else {@code -1}), and the end index.
+     */
+    private static List<int[]> split(String input) {
+        int start = skip(input, 0);
+        if (start == input.length() || input.charAt(start) != '[' && input.charAt(start) != '{') {
+            return null;
+        }
+        char close = input.charAt(start) == '[' ? ']' : '}';
+        List<int[]> elements = Lists.newArrayList();
+        int element = start + 1;
+        int colon = -1;
+        int depth = 0;
+        for (int i = start; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '\"') {
+                i++;
+                while (i < input.length() && input.charAt(i) != '\"') {
+                    i += input.charAt(i) == '\\' ? 2 : 1;
+                }
+            } else if (c == '[' || c == '{') {
+                depth++;
+            } else if (c == ']' || c == '}') {
+                if (--depth == 0) {
+                    if (c != close || skip(input, i + 1) != input.length()) {
+                        return null;
+                    } else if (!elements.isEmpty() || skip(input, element) != i) {
+                        elements.add(new int[] {element, colon, i});
+                    }
+                    return elements;
+                }
+            } else if (depth == 1 && c == ',') {
+                elements.add(new int[] {element, colon, i});
+                element = i + 1;
+                colon = -1;
+            } else if (depth == 1 && c == ':' && colon == -1) {
+                colon = i;
+            }
+        }
+        return null;
+    }
+
+    private static int skip(String input, int index) {
+        while (index < input.length() && " \n\r\t".indexOf(input.charAt(index)) != -1) {
+            index++;
+        }
+        return index;
     }
 
     @Override
     protected Node parse() throws ParseException {
         Node node = Node.root();
+        parseRoot(node);
+        return node;
+    }
+
+    private void parseRoot(Node node) throws ParseException {
         require(tokens.has(0), () -> Diagnostic.builder()
                 .summary("Empty JSON content.")
                 .details("Expected to parse a value, but the JSON content was empty."));
         context.addFirst(tokens.get(0).getRange());
-        parseValue(node);
+        builder = Node.builder(node);
+        parseValue();
         require(!tokens.has(0), () -> Diagnostic.builder()
                 .summary("Expected end of input.")
                 .details("The config was parsed as a single value, but more input was provided. Multiple values must be included in an array or object, such as [1, 2, 3] or {x = 1, y = 2, z = 3}."));
         context.removeLast();
-        return node;
     }
 
-    private void parseValue(Node node) throws ParseException {
+    private void parseValue() throws ParseException {
         Preconditions.checkState(tokens.has(0), "Broken parser invariant.");
+        enter();
         if (peek("{")) {
-            parseObject(node);
+            parseObject();
         } else if (peek("[")) {
-            parseArray(node);
+            parseArray();
         } else if (match("null")) {
-            node.attach().setValue(null);
+            builder.value(null);
         } else if (match(Arrays.asList("true", "false"))) {
-            node.attach().setValue(Boolean.parseBoolean(tokens.get(-1).getLiteral()));
+            builder.value(Boolean.parseBoolean(tokens.get(-1).getLiteral()));
         } else if (match(JsonTokenType.INTEGER)) {
-            node.attach().setValue(new BigInteger(tokens.get(-1).getLiteral()));
+            builder.value(new BigInteger(tokens.get(-1).getLiteral()));
         } else if (match(JsonTokenType.DECIMAL)) {
-            node.attach().setValue(new BigDecimal(tokens.get(-1).getLiteral()));
+            builder.value(new BigDecimal(tokens.get(-1).getLiteral()));
         } else if (match(JsonTokenType.STRING)) {
             String literal = tokens.get(-1).getLiteral();
-            node.attach().setValue(unescape(literal.substring(1, literal.length() - 1)));
+            builder.value(string(unescape(literal.substring(1, literal.length() - 1))));
         } else {
             throw error(Diagnostic.builder()
                     .summary("Invalid value.")
                     .details("Expected to parse a value, but found an invalid token. This could be caused by a missing bracket, brace, or quotes.")
                     .range(tokens.get(0).getRange()));
         }
+        exit();
     }
 
-    private void parseArray(Node node) throws ParseException {
+    private void parseArray() throws ParseException {
         Preconditions.checkState(match("["), "Broken parser invariant.");
-        node.attach().setValue(Lists.newArrayList());
+        builder.beginArray();
         while (!match("]")) {
             require(tokens.has(0), () -> Diagnostic.builder()
                     .summary("Unexpected end of input.")
                     .details("Expected to parse an array value, but reached the end of available input. This could be caused by a missing closing bracket ']'."));
             context.addLast(tokens.get(0).getRange());
-            Node child = node.resolve(node.getList().size());
-            parseValue(child);
+            parseValue();
             if (!peek("]")) {
                 require(match(","), () -> Diagnostic.builder()
                         .summary("Expected a comma separator or the closing bracket after array value.")
@@ -87,14 +224,15 @@ public final class JsonParser extends Parser<JsonTokenType> {
             }
             context.removeLast();
         }
+        builder.end();
     }
 
-    private void parseObject(Node node) throws ParseException {
+    private void parseObject() throws ParseException {
         Preconditions.checkState(match("{"), "Broken parser invariant.");
-        node.attach().setValue(Maps.newLinkedHashMap());
+        builder.beginObject();
         Map<String, Diagnostic.Range> defined = Maps.newHashMap();
         while (!match("}")) {
-            parseProperty(node, defined);
+            parseProperty(defined);
             if (!peek("}")) {
                 require(match(","), () -> Diagnostic.builder()
                     .summary("Expected a comma separator or the closing brace after property.")
@@ -105,13 +243,14 @@ public final class JsonParser extends Parser<JsonTokenType> {
             }
             context.removeLast();
         }
+        builder.end();
     }
 
-    private void parseProperty(Node node, Map<String, Diagnostic.Range> defined) throws ParseException {
+    private void parseProperty(Map<String, Diagnostic.Range> defined) throws ParseException {
         require(match(JsonTokenType.STRING), () -> Diagnostic.builder()
                 .summary("Expected a string for property key.")
                 .details("A property has the form 'key: value', where key is a string. Properties must not use unquoted keys."));
-        String key = unescape(tokens.get(-1).getLiteral().substring(1, tokens.get(-1).getLiteral().length() - 1));
+        String key = key(unescape(tokens.get(-1).getLiteral().substring(1, tokens.get(-1).getLiteral().length() - 1)));
         if (defined.containsKey(key)) {
             context.push(defined.get(key));
             // Duplicate keys are considered implementation-dependent in JSON.
@@ -143,10 +282,14 @@ public final class JsonParser extends Parser<JsonTokenType> {
                     .details("A property has the form 'key: value', and thus requires a value following the key and colon.")
                     .range(Diagnostic.range(start.getIndex(), start.getLine(), start.getColumn(), end.getIndex() + end.getLength() - start.getIndex())));
         }
-        parseValue(node.resolve(key));
+        builder.key(key);
+        parseValue();
     }
 
     private String unescape(String string) {
+        if (string.indexOf('\\') == -1) {
+            return string;
+        }
         StringBuilder builder = new StringBuilder();
         Matcher matcher = ESCAPES.matcher(string);
         int index = 0;
@@ -176,4 +319,52 @@ public final class JsonParser extends Parser<JsonTokenType> {
         return builder.append(string.substring(index)).toString();
     }
 
+    @SuppressWarnings("serial")
+    private static final class ParseTask extends RecursiveTask<ParseStats> {
+
+        private final String input;
+        private final List<int[]> elements;
+        private final List<Node> children;
+        private final Map<String, String> keys;
+        private final int start;
+        private final int end;
+
+        private ParseTask(String input, List<int[]> elements, List<Node> children, Map<String, String> keys, int start, int end) {
+            this.input = input;
+            this.elements = elements;
+            this.children = children;
+            this.keys = keys;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected ParseStats compute() {
+            if (end - start > THRESHOLD) {
+                int middle = (start + end) >>> 1;
+                ParseTask first = new ParseTask(input, elements, children, keys, start, middle);
+                ParseTask second = new ParseTask(input, elements, children, keys, middle, end);
+                invokeAll(first, second);
+                return new ParseStats(0, first.join().getTokens() + second.join().getTokens(),
+                        first.join().getNodes() + second.join().getNodes(),
+                        Math.max(first.join().getDepth(), second.join().getDepth()), 0, -1);
+            } else {
+                long tokens = 0;
+                long nodes = 0;
+                int depth = 0;
+                for (int i = start; i < end; i++) {
+                    int[] element = elements.get(i);
+                    int index = element[1] != -1 ? element[1] + 1 : element[0];
+                    JsonParser parser = new JsonParser(input.substring(index, element[2]), keys);
+                    parser.parseRoot(children.get(i));
+                    tokens += parser.tokens.count();
+                    nodes += parser.nodes;
+                    depth = Math.max(depth, parser.maxDepth);
+                }
+                return new ParseStats(0, tokens, nodes, depth, 0, -1);
+            }
+        }
+
+    }
+
 }
@@ -1,8 +1,9 @@
 package dev.willbanders.storm.format.storm;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
+import com.google.common.collect.Interner;
 import com.google.common.collect.Maps;
+import dev.willbanders.storm.Storm;
 import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.format.Diagnostic;
 import dev.willbanders.storm.format.ParseException;
@@ -19,12 +20,28 @@ public final class StormParser extends Parser<StormTokenType> {
 
     private static final Pattern ESCAPES = Pattern.compile("\\\\(?:([bfnrt\'\"\\\\])|u([0-9A-F]{4}))");
 
+    private Node.Builder builder;
+
     private StormParser(String input) throws ParseException {
         super(new StormLexer(input));
     }
 
+    private StormParser(String input, Interner<String> strings) throws ParseException {
+        super(new StormLexer(input), Maps.newHashMap(), strings);
+    }
+
     public static Node parse(String input) {
-        return new StormParser(input).parse();
+        return new StormParser(input).parse(Storm.getMetrics());
+    }
+
+    /**
+     * Parses the input using the given interner for string values and
+     * property keys, such as a {@link dev.willbanders.storm.config.StringPool}
+     * shared between documents. This avoids retaining a separate copy of
+     * strings repeated throughout or between documents.
+     */
+    public static Node parse(String input, Interner<String> strings) {
+        return new StormParser(input, strings).parse(Storm.getMetrics());
     }
 
     @Override
@@ -35,6 +52,7 @@ public final class StormParser extends Parser<StormTokenType> {
     }
 
     private void parseRoot(Node node) throws ParseException {
+        builder = Node.builder(node);
         String comment = "";
         if (peek(StormTokenType.COMMENT)) {
             context.push(tokens.get(0).getRange());
@@ -63,21 +81,22 @@ public final class StormParser extends Parser<StormTokenType> {
             context.clear();
             if (tokens.has(0)) {
                 context.addFirst(tokens.get(0).getRange());
-                parseValue(node);
+                parseValue();
                 while (match(StormTokenType.NEWLINE)) {}
                 require(!tokens.has(0), () -> Diagnostic.builder()
                         .summary("Expected end of input.")
                         .details("The config was parsed as a single value, but more input was provided. Multiple values must be included in an array or object, such as [1, 2, 3] or {x = 1, y = 2, z = 3}."));
                 context.removeLast();
             } else {
-                node.attach().setValue(Maps.newLinkedHashMap());
+                builder.beginObject(0).end();
             }
         } else {
             context.clear();
-            node.attach().setValue(Maps.newLinkedHashMap());
+            enter();
+            builder.beginObject();
             Map<String, Diagnostic.Range> defined = Maps.newHashMap();
             while (tokens.has(0)) {
-                parseProperty(node, defined);
+                parseProperty(defined);
                 if (tokens.has(0)) {
                     require(match(Arrays.asList(",", StormTokenType.NEWLINE)), () -> Diagnostic.builder()
                             .summary("Expected a comma/newline separator after property.")
@@ -86,6 +105,8 @@ public final class StormParser extends Parser<StormTokenType> {
                 }
                 context.removeLast();
             }
+            builder.end();
+            exit();
             node.getChildren().iterator().next().setComment(comment);
         }
     }
@@ -101,16 +122,17 @@ public final class StormParser extends Parser<StormTokenType> {
         return builder.toString();
     }
 
-    private void parseValue(Node node) throws ParseException {
+    private void parseValue() throws ParseException {
         Preconditions.checkState(tokens.has(0) && !peek(StormTokenType.NEWLINE), "Broken parser invariant.");
+        enter();
         if (peek("{")) {
-            parseObject(node);
+            parseObject();
         } else if (peek("[")) {
-            parseArray(node);
+            parseArray();
         } else if (match("null")) {
-            node.attach().setValue(null);
+            builder.value(null);
         } else if (match(Arrays.asList("true", "false"))) {
-            node.attach().setValue(Boolean.parseBoolean(tokens.get(-1).getLiteral()));
+            builder.value(Boolean.parseBoolean(tokens.get(-1).getLiteral()));
         } else if (match(StormTokenType.INTEGER)) {
             String literal = tokens.get(-1).getLiteral();
             BigInteger value;
@@ -123,36 +145,36 @@ public final class StormParser extends Parser<StormTokenType> {
             } else {
                 value = new BigInteger(literal);
             }
-            node.attach().setValue(value);
+            builder.value(value);
         } else if (match(StormTokenType.DECIMAL)) {
-            node.attach().setValue(new BigDecimal(tokens.get(-1).getLiteral()));
+            builder.value(new BigDecimal(tokens.get(-1).getLiteral()));
         } else if (match(StormTokenType.CHARACTER)) {
             String literal = tokens.get(-1).getLiteral();
-            node.attach().setValue(unescape(literal.substring(1, literal.length() - 1)).charAt(0));
+            builder.value(unescape(literal.substring(1, literal.length() - 1)).charAt(0));
         } else if (match(StormTokenType.STRING)) {
             String literal = tokens.get(-1).getLiteral();
-            node.attach().setValue(unescape(literal.substring(1, literal.length() - 1)));
+            builder.value(string(unescape(literal.substring(1, literal.length() - 1))));
         } else {
             throw error(Diagnostic.builder()
                     .summary("Invalid value.")
                     .details("Expected to parse a value, but found an invalid token. This could be caused by a missing bracket, brace, or quotes.")
                     .range(tokens.get(0).getRange()));
         }
+        exit();
     }
 
-    private void parseArray(Node node) throws ParseException {
+    private void parseArray() throws ParseException {
         Preconditions.checkState(match("["), "Broken parser invariant.");
         while (match(StormTokenType.NEWLINE)) {}
-        node.attach().setValue(Lists.newArrayList());
+        builder.beginArray();
         while (!match("]")) {
             String comment = parseComment();
             require(tokens.has(0), () -> Diagnostic.builder()
                     .summary("Unexpected end of input.")
                     .details("Expected to parse an array value, but reached the end of available input. This could be caused by a missing closing bracket ']'."));
             context.addLast(tokens.get(0).getRange());
-            Node child = node.resolve(node.getList().size());
-            child.setComment(comment);
-            parseValue(child);
+            builder.comment(comment);
+            parseValue();
             if (!peek("]")) {
                 require(match(Arrays.asList(",", StormTokenType.NEWLINE)), () -> Diagnostic.builder()
                         .summary("Expected a comma/newline separator or the closing bracket after array value.")
@@ -161,15 +183,16 @@ public final class StormParser extends Parser<StormTokenType> {
             }
             context.removeLast();
         }
+        builder.end();
     }
 
-    private void parseObject(Node node) throws ParseException {
+    private void parseObject() throws ParseException {
         Preconditions.checkState(match("{"), "Broken parser invariant.");
         while (match(StormTokenType.NEWLINE)) {}
-        node.attach().setValue(Maps.newLinkedHashMap());
+        builder.beginObject();
         Map<String, Diagnostic.Range> defined = Maps.newHashMap();
         while (!match("}")) {
-            parseProperty(node, defined);
+            parseProperty(defined);
             if (!peek("}")) {
                 require(match(Arrays.asList(",", StormTokenType.NEWLINE)), () -> Diagnostic.builder()
                         .summary("Expected a comma/newline separator or the closing brace after property.")
@@ -178,16 +201,17 @@ public final class StormParser extends Parser<StormTokenType> {
             }
             context.removeLast();
         }
+        builder.end();
     }
 
-    private void parseProperty(Node node, Map<String, Diagnostic.Range> defined) throws ParseException {
+    private void parseProperty(Map<String, Diagnostic.Range> defined) throws ParseException {
         String comment = parseComment();
         require(match(Arrays.asList(StormTokenType.IDENTIFIER, StormTokenType.STRING)), () -> Diagnostic.builder()
                 .summary("Expected an identifier for property key.")
                 .details("A property has the form 'key = value', where key is an identifier (alphanumeric, '_', or '-' starting with a letter or '_') or a string."));
-        String key = tokens.get(-1).getType() == StormTokenType.IDENTIFIER
+        String key = key(tokens.get(-1).getType() == StormTokenType.IDENTIFIER
                 ? tokens.get(-1).getLiteral()
-                : unescape(tokens.get(-1).getLiteral().substring(1, tokens.get(-1).getLiteral().length() - 1));
+                : unescape(tokens.get(-1).getLiteral().substring(1, tokens.get(-1).getLiteral().length() - 1)));
         if (defined.containsKey(key)) {
             context.push(defined.get(key));
             throw error(Diagnostic.builder()
@@ -214,12 +238,14 @@ public final class StormParser extends Parser<StormTokenType> {
                     .details("A property has the form 'key = value', and thus requires a value following the key and equals sign.")
                     .range(Diagnostic.range(start.getIndex(), start.getLine(), start.getColumn(), end.getIndex() + end.getLength() - start.getIndex())));
         }
-        Node child = node.resolve(key);
-        child.setComment(comment);
-        parseValue(child);
+        builder.comment(comment).key(key);
+        parseValue();
     }
 
     private String unescape(String string) {
+        if (string.indexOf('\\') == -1) {
+            return string;
+        }
         StringBuilder builder = new StringBuilder();
         Matcher matcher = ESCAPES.matcher(string);
         int index = 0;
@@ -0,0 +1,116 @@
+package dev.willbanders.storm.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link Metrics} implementation recording timings into in-memory
+ * histograms, keyed by the class reporting the metric. This can also be used
+ * as the basis for adapters to other metrics registries.
+ */
+public final class HistogramMetrics implements Metrics {
+
+    public enum Phase {
+        PARSE,
+        GENERATE,
+        DESERIALIZE,
+        RESERIALIZE
+    }
+
+    private final Map<Phase, Map<Class<?>, Histogram>> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public void parsed(Class<?> parser, ParseStats stats) {
+        record(Phase.PARSE, parser, stats.getNanos());
+    }
+
+    @Override
+    public void generated(Class<?> generator, long characters, long nanos) {
+        record(Phase.GENERATE, generator, nanos);
+    }
+
+    @Override
+    public void deserialized(Class<?> serializer, long nanos) {
+        record(Phase.DESERIALIZE, serializer, nanos);
+    }
+
+    @Override
+    public void reserialized(Class<?> serializer, long nanos) {
+        record(Phase.RESERIALIZE, serializer, nanos);
+    }
+
+    private void record(Phase phase, Class<?> clazz, long nanos) {
+        histograms.computeIfAbsent(phase, p -> new ConcurrentHashMap<>())
+                .computeIfAbsent(clazz, c -> new Histogram())
+                .record(nanos);
+    }
+
+    /**
+     * Returns an unmodifiable view of the histograms recorded for the given
+     * phase, keyed by the class reporting the metric.
+     */
+    public Map<Class<?>, Histogram> get(Phase phase) {
+        return Collections.unmodifiableMap(histograms.computeIfAbsent(phase, p -> new ConcurrentHashMap<>()));
+    }
+
+    /**
+     * A histogram of durations in nanoseconds using power-of-two buckets,
+     * which is sufficient for percentiles within a factor of two.
+     */
+    public static final class Histogram {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+
+        private Histogram() {}
+
+        private void record(long nanos) {
+            nanos = Math.max(nanos, 0);
+            count.increment();
+            total.add(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+            buckets.incrementAndGet(Math.max(63 - Long.numberOfLeadingZeros(nanos), 0));
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotal() {
+            return total.sum();
+        }
+
+        public long getMax() {
+            return max.get();
+        }
+
+        public double getMean() {
+            long count = getCount();
+            return count == 0 ? 0 : (double) getTotal() / count;
+        }
+
+        /**
+         * Returns an upper bound for the given percentile, between 0 and 100,
+         * which is the upper bound of the bucket containing it.
+         */
+        public long getPercentile(double percentile) {
+            long target = (long) Math.ceil(getCount() * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < 64; i++) {
+                seen += buckets.get(i);
+                if (seen >= target && seen > 0) {
+                    return Math.min(i == 63 ? Long.MAX_VALUE : (1L << (i + 1)) - 1, getMax());
+                }
+            }
+            return 0;
+        }
+
+    }
+
+}
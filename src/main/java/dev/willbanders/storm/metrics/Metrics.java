@@ -0,0 +1,66 @@
+package dev.willbanders.storm.metrics;
+
+import dev.willbanders.storm.Storm;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * A listener for parsing, generation, and serialization metrics, registered
+ * with {@link Storm#setMetrics(Metrics)}. All methods have empty default
+ * implementations, so implementations only need to override the metrics they
+ * are interested in.
+ *
+ * <p>Metrics are only collected when a listener other than {@link #NONE} is
+ * registered, in which case methods may be called concurrently. Serializer
+ * timings are inclusive, so the time reported for a serializer includes the
+ * time of any serializers it delegates to.</p>
+ *
+ * @see HistogramMetrics for a simple in-memory implementation
+ */
+public interface Metrics {
+
+    /**
+     * The default listener, which ignores all metrics and disables collection.
+     */
+    Metrics NONE = new Metrics() {};
+
+    /**
+     * Called after the given parser class has successfully parsed input.
+     */
+    default void parsed(Class<?> parser, ParseStats stats) {}
+
+    /**
+     * Called after the given generator class has generated output containing
+     * the given number of characters.
+     */
+    default void generated(Class<?> generator, long characters, long nanos) {}
+
+    /**
+     * Called after a value has been deserialized by the given serializer class,
+     * including if deserialization failed.
+     */
+    default void deserialized(Class<?> serializer, long nanos) {}
+
+    /**
+     * Called after a value has been reserialized by the given serializer class,
+     * including if reserialization failed.
+     */
+    default void reserialized(Class<?> serializer, long nanos) {}
+
+    /**
+     * Returns the number of bytes allocated by the current thread, or {@code
+     * -1} if this is not supported by the JVM.
+     */
+    static long allocated() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+            if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled()) {
+                return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+}
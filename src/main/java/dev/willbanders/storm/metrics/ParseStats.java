@@ -0,0 +1,67 @@
+package dev.willbanders.storm.metrics;
+
+/**
+ * Statistics for a single parse of some input.
+ */
+public final class ParseStats {
+
+    private final long characters;
+    private final long tokens;
+    private final long nodes;
+    private final int depth;
+    private final long nanos;
+    private final long allocated;
+
+    public ParseStats(long characters, long tokens, long nodes, int depth, long nanos, long allocated) {
+        this.characters = characters;
+        this.tokens = tokens;
+        this.nodes = nodes;
+        this.depth = depth;
+        this.nanos = nanos;
+        this.allocated = allocated;
+    }
+
+    /**
+     * Returns the number of characters in the input.
+     */
+    public long getCharacters() {
+        return characters;
+    }
+
+    /**
+     * Returns the number of tokens lexed, excluding whitespace.
+     */
+    public long getTokens() {
+        return tokens;
+    }
+
+    /**
+     * Returns the number of nodes created for values in the input.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the maximum depth of nested values, where the root is 1.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the wall time of the parse in nanoseconds.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the parsing thread, or {@code
+     * -1} if this is not supported or the input was parsed in parallel.
+     */
+    public long getAllocated() {
+        return allocated;
+    }
+
+}
@@ -1,8 +1,10 @@
 package dev.willbanders.storm.serializer;
 
+import com.google.common.collect.ImmutableMap;
 import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.serializer.primitive.NullableSerializer;
 import dev.willbanders.storm.serializer.primitive.OptionalSerializer;
+import dev.willbanders.storm.serializer.primitive.SchemaSerializer;
 
 /**
  * Serializes values to and from a config node. All serializers support
@@ -31,6 +33,19 @@ public interface Serializer<T> {
         throw new SerializationException(node, "Reserialization is not supported for this serializer.");
     }
 
+    /**
+     * Writes a JSON Schema describing the values accepted by this serializer
+     * to the given node, which may then be generated as JSON. Constraints
+     * which cannot be described are omitted, and thus the schema may accept
+     * values this serializer does not. The default schema is {@code {}},
+     * which accepts any value.
+     *
+     * @see SchemaSerializer for validating values against a schema
+     */
+    default void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of());
+    }
+
     /**
      * Returns a new serializer that delegates to the given serializer if the
      * node value is not {@link Node.Type#NULL}.
@@ -0,0 +1,162 @@
+package dev.willbanders.storm.serializer.common;
+
+import com.google.common.base.Preconditions;
+
+import java.math.BigDecimal;
+
+/**
+ * An amount of data in bytes, such as a cache or buffer size. Sizes are
+ * written as a number followed by a unit, as in {@code 512MiB} or {@code
+ * 1.5GB}, where decimal units ({@code KB}, {@code MB}, ...) are powers of
+ * 1000 and binary units ({@code KiB}, {@code MiB}, ...) are powers of 1024.
+ */
+public final class DataSize implements Comparable<DataSize> {
+
+    public static final DataSize ZERO = new DataSize(0);
+
+    /**
+     * Units ordered from smallest to largest, with decimal units before
+     * binary units of the same magnitude.
+     */
+    public enum Unit {
+        BYTES("B", 1L),
+        KILOBYTES("KB", 1000L),
+        KIBIBYTES("KiB", 1L << 10),
+        MEGABYTES("MB", 1000L * 1000),
+        MEBIBYTES("MiB", 1L << 20),
+        GIGABYTES("GB", 1000L * 1000 * 1000),
+        GIBIBYTES("GiB", 1L << 30),
+        TERABYTES("TB", 1000L * 1000 * 1000 * 1000),
+        TEBIBYTES("TiB", 1L << 40),
+        PETABYTES("PB", 1000L * 1000 * 1000 * 1000 * 1000),
+        PEBIBYTES("PiB", 1L << 50);
+
+        private final String symbol;
+        private final long bytes;
+
+        Unit(String symbol, long bytes) {
+            this.symbol = symbol;
+            this.bytes = bytes;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+    }
+
+    private static final Unit[] UNITS = Unit.values();
+
+    private final long bytes;
+
+    private DataSize(long bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Returns a size of the given number of bytes.
+     *
+     * @throws IllegalArgumentException if bytes is negative
+     */
+    public static DataSize ofBytes(long bytes) {
+        Preconditions.checkArgument(bytes >= 0, "Size must be non-negative.");
+        return bytes == 0 ? ZERO : new DataSize(bytes);
+    }
+
+    /**
+     * Returns a size of the given amount of the given unit.
+     *
+     * @throws IllegalArgumentException if amount is negative
+     * @throws ArithmeticException if the size overflows a long
+     */
+    public static DataSize of(long amount, Unit unit) {
+        return ofBytes(Math.multiplyExact(amount, unit.bytes));
+    }
+
+    /**
+     * Parses a size, which is a non-negative number followed by an optional
+     * unit symbol. Units are matched ignoring case, and bytes are used if no
+     * unit is given. Fractional amounts are supported only if they are a
+     * whole number of bytes, as in {@code 1.5KB} but not {@code 1.5B}.
+     *
+     * @throws IllegalArgumentException if the size is invalid
+     */
+    public static DataSize parse(String value) {
+        int i = 0;
+        boolean digits = false;
+        boolean point = false;
+        for (; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        Preconditions.checkArgument(digits, "Expected a size such as 512MiB, received %s.", value);
+        String number = value.substring(0, i);
+        while (i < value.length() && value.charAt(i) == ' ') {
+            i++;
+        }
+        Unit unit = unit(value.substring(i));
+        Preconditions.checkArgument(unit != null, "Expected a unit in B, KB, KiB, ..., PiB, received %s.", value);
+        try {
+            return ofBytes(new BigDecimal(number).multiply(BigDecimal.valueOf(unit.bytes)).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Expected a size which is a whole number of bytes in range, received " + value + ".");
+        }
+    }
+
+    private static Unit unit(String symbol) {
+        if (symbol.isEmpty()) {
+            return Unit.BYTES;
+        }
+        for (Unit unit : UNITS) {
+            if (unit.symbol.equalsIgnoreCase(symbol)) {
+                return unit;
+            }
+        }
+        return null;
+    }
+
+    public long toBytes() {
+        return bytes;
+    }
+
+    @Override
+    public int compareTo(DataSize other) {
+        return Long.compare(bytes, other.bytes);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof DataSize && bytes == ((DataSize) obj).bytes;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(bytes);
+    }
+
+    /**
+     * Returns the size using the largest unit that represents it exactly, as
+     * in {@code 512MiB} or {@code 1500KB}, which is parsed by {@link
+     * #parse(String)} into an equal size.
+     */
+    @Override
+    public String toString() {
+        for (int i = UNITS.length - 1; i > 0; i--) {
+            if (bytes % UNITS[i].bytes == 0 && bytes != 0) {
+                return bytes / UNITS[i].bytes + UNITS[i].symbol;
+            }
+        }
+        return bytes + "B";
+    }
+
+}
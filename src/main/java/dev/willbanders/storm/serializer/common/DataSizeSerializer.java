@@ -0,0 +1,30 @@
+package dev.willbanders.storm.serializer.common;
+
+import dev.willbanders.storm.config.Node;
+
+/**
+ * Serializes a {@link Node.Type#STRING} value into a {@link DataSize}, written
+ * as in {@code 512MiB} or {@code 1.5GB}. Values are reserialized using the
+ * largest unit that represents the size exactly.
+ *
+ * @see DataSize#parse(String)
+ */
+public final class DataSizeSerializer extends StringConverter<DataSize> {
+
+    public static final DataSizeSerializer INSTANCE = new DataSizeSerializer();
+
+    private DataSizeSerializer() {
+        super(null);
+    }
+
+    @Override
+    DataSize parse(String value) {
+        return DataSize.parse(value);
+    }
+
+    @Override
+    String format(DataSize value) {
+        return value.toString();
+    }
+
+}
@@ -0,0 +1,94 @@
+package dev.willbanders.storm.serializer.common;
+
+import com.google.common.base.Preconditions;
+import dev.willbanders.storm.config.Node;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Serializes a {@link Node.Type#STRING} value into a {@link Duration}, written
+ * as a sequence of amounts and units in decreasing order, as in {@code 1h30m}
+ * or {@code 500ms}. The supported units are {@code d}, {@code h}, {@code m},
+ * {@code s}, {@code ms}, {@code us}, and {@code ns}, where a day is exactly 24
+ * hours. Durations may be negative with a leading {@code -}.
+ *
+ * <p>Values are reserialized using the largest units possible, as in {@code
+ * 1d2h} for 26 hours, and a zero duration is reserialized as {@code 0s}.</p>
+ */
+public final class DurationSerializer extends StringConverter<Duration> {
+
+    public static final DurationSerializer INSTANCE = new DurationSerializer();
+
+    private static final String[] SYMBOLS = {"d", "h", "m", "s", "ms", "us", "ns"};
+    private static final ChronoUnit[] UNITS = {ChronoUnit.DAYS, ChronoUnit.HOURS, ChronoUnit.MINUTES,
+            ChronoUnit.SECONDS, ChronoUnit.MILLIS, ChronoUnit.MICROS, ChronoUnit.NANOS};
+
+    private DurationSerializer() {
+        super(null);
+    }
+
+    @Override
+    Duration parse(String value) {
+        boolean negative = value.startsWith("-");
+        int i = negative ? 1 : 0;
+        Preconditions.checkArgument(i < value.length(), "Expected a duration such as 1h30m, received %s.", value);
+        Duration duration = Duration.ZERO;
+        int previous = -1;
+        while (i < value.length()) {
+            int start = i;
+            long amount = 0;
+            while (i < value.length() && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                amount = Math.addExact(Math.multiplyExact(amount, 10), value.charAt(i++) - '0');
+            }
+            Preconditions.checkArgument(i > start, "Expected a duration such as 1h30m, received %s.", value);
+            start = i;
+            while (i < value.length() && (value.charAt(i) < '0' || value.charAt(i) > '9')) {
+                i++;
+            }
+            int unit = unit(value.substring(start, i));
+            Preconditions.checkArgument(unit >= 0, "Expected a unit in d, h, m, s, ms, us, ns, received %s.", value);
+            Preconditions.checkArgument(unit > previous, "Expected units in decreasing order without repeats, received %s.", value);
+            Duration part = Duration.of(amount, UNITS[unit]);
+            duration = negative ? duration.minus(part) : duration.plus(part);
+            previous = unit;
+        }
+        return duration;
+    }
+
+    private static int unit(String symbol) {
+        for (int i = 0; i < SYMBOLS.length; i++) {
+            if (SYMBOLS[i].equals(symbol)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    String format(Duration value) {
+        if (value.isZero()) {
+            return "0s";
+        }
+        StringBuilder builder = new StringBuilder();
+        long seconds = value.getSeconds();
+        int nanos = value.getNano();
+        if (value.isNegative()) {
+            builder.append('-');
+            seconds = nanos != 0 ? -(seconds + 1) : -seconds;
+            nanos = nanos != 0 ? 1_000_000_000 - nanos : 0;
+        }
+        // The absolute seconds of the minimum duration are 2^63, so they are
+        // treated as unsigned.
+        long[] amounts = {Long.divideUnsigned(seconds, 86400), Long.divideUnsigned(seconds, 3600) % 24,
+                Long.divideUnsigned(seconds, 60) % 60, Long.remainderUnsigned(seconds, 60),
+                nanos / 1_000_000, nanos / 1000 % 1000, nanos % 1000};
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] != 0) {
+                builder.append(amounts[i]).append(SYMBOLS[i]);
+            }
+        }
+        return builder.toString();
+    }
+
+}
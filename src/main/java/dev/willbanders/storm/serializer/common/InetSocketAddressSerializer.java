@@ -0,0 +1,55 @@
+package dev.willbanders.storm.serializer.common;
+
+import com.google.common.base.Preconditions;
+import dev.willbanders.storm.config.Node;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Serializes a {@link Node.Type#STRING} value into an {@link
+ * InetSocketAddress}, written as {@code host:port} or {@code [address]:port}
+ * for IPv6 addresses. Addresses are created unresolved, and thus no lookup is
+ * performed when deserializing; use {@link
+ * InetSocketAddress#InetSocketAddress(String, int)} to resolve the host.
+ */
+public final class InetSocketAddressSerializer extends StringConverter<InetSocketAddress> {
+
+    public static final InetSocketAddressSerializer INSTANCE = new InetSocketAddressSerializer();
+
+    private InetSocketAddressSerializer() {
+        super(null);
+    }
+
+    @Override
+    InetSocketAddress parse(String value) {
+        String host;
+        int colon;
+        if (value.startsWith("[")) {
+            int close = value.indexOf(']');
+            host = close > 0 ? value.substring(1, close) : "";
+            Preconditions.checkArgument(host.indexOf(':') >= 0, "Expected an IPv6 address such as [::1]:8080, received %s.", value);
+            colon = close + 1;
+            Preconditions.checkArgument(colon < value.length() && value.charAt(colon) == ':', "Expected an address such as [::1]:8080, received %s.", value);
+        } else {
+            colon = value.indexOf(':');
+            Preconditions.checkArgument(colon > 0 && value.indexOf(':', colon + 1) < 0, "Expected an address such as localhost:8080, received %s.", value);
+            host = value.substring(0, colon);
+        }
+        int port = 0;
+        Preconditions.checkArgument(colon + 1 < value.length() && value.length() - colon - 1 <= 5, "Expected a port in [0, 65535], received %s.", value);
+        for (int i = colon + 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            Preconditions.checkArgument(c >= '0' && c <= '9', "Expected a port in [0, 65535], received %s.", value);
+            port = port * 10 + c - '0';
+        }
+        Preconditions.checkArgument(port <= 65535, "Expected a port in [0, 65535], received %s.", value);
+        return InetSocketAddress.createUnresolved(host, port);
+    }
+
+    @Override
+    String format(InetSocketAddress value) {
+        String host = value.getHostString();
+        return (host.indexOf(':') >= 0 ? "[" + host + "]" : host) + ":" + value.getPort();
+    }
+
+}
@@ -0,0 +1,35 @@
+package dev.willbanders.storm.serializer.common;
+
+import dev.willbanders.storm.config.Node;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Serializes a {@link Node.Type#STRING} value into an {@link Instant}, written
+ * as an ISO-8601 timestamp in UTC such as {@code 2020-01-01T12:00:00Z}. Values
+ * are reserialized using {@link Instant#toString()}.
+ */
+public final class InstantSerializer extends StringConverter<Instant> {
+
+    public static final InstantSerializer INSTANCE = new InstantSerializer();
+
+    private InstantSerializer() {
+        super("date-time");
+    }
+
+    @Override
+    Instant parse(String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Expected a timestamp such as 2020-01-01T12:00:00Z, received " + value + ".");
+        }
+    }
+
+    @Override
+    String format(Instant value) {
+        return value.toString();
+    }
+
+}
@@ -0,0 +1,35 @@
+package dev.willbanders.storm.serializer.common;
+
+import dev.willbanders.storm.config.Node;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Serializes a {@link Node.Type#STRING} value into a {@link LocalDate}, written
+ * as an ISO-8601 date such as {@code 2020-01-01}. Values are reserialized
+ * using {@link LocalDate#toString()}.
+ */
+public final class LocalDateSerializer extends StringConverter<LocalDate> {
+
+    public static final LocalDateSerializer INSTANCE = new LocalDateSerializer();
+
+    private LocalDateSerializer() {
+        super("date");
+    }
+
+    @Override
+    LocalDate parse(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Expected a date such as 2020-01-01, received " + value + ".");
+        }
+    }
+
+    @Override
+    String format(LocalDate value) {
+        return value.toString();
+    }
+
+}
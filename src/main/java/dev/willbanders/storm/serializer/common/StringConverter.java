@@ -0,0 +1,62 @@
+package dev.willbanders.storm.serializer.common;
+
+import com.google.common.collect.ImmutableMap;
+import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.serializer.SerializationException;
+import dev.willbanders.storm.serializer.Serializer;
+
+/**
+ * Base class for serializers of values written as a {@link Node.Type#STRING},
+ * which parse the string directly and reserialize the value to a canonical
+ * string that is parsed into an equal value.
+ */
+abstract class StringConverter<T> implements Serializer<T> {
+
+    private final String format;
+
+    /**
+     * @param format the JSON Schema format of the string, or null if none
+     */
+    StringConverter(String format) {
+        this.format = format;
+    }
+
+    /**
+     * Parses the value from the given string.
+     *
+     * @throws IllegalArgumentException if the string is invalid, with a
+     *     message describing the expected format
+     */
+    abstract T parse(String value);
+
+    /**
+     * Returns the canonical string for the given value.
+     */
+    abstract String format(T value);
+
+    @Override
+    public final T deserialize(Node node) throws SerializationException {
+        if (node.getType() != Node.Type.STRING) {
+            throw new SerializationException(node, "Expected a string value.");
+        }
+        try {
+            return parse((String) node.getValue());
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new SerializationException(node, e.getMessage());
+        }
+    }
+
+    @Override
+    public final void reserialize(Node node, T value) throws SerializationException {
+        if (value == null) {
+            throw new SerializationException(node, "Expected a non-null value.");
+        }
+        node.attach().setValue(format(value));
+    }
+
+    @Override
+    public final void schema(Node node) {
+        node.attach().setValue(format != null ? ImmutableMap.of("type", "string", "format", format) : ImmutableMap.of("type", "string"));
+    }
+
+}
@@ -0,0 +1,35 @@
+package dev.willbanders.storm.serializer.common;
+
+import dev.willbanders.storm.config.Node;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+
+/**
+ * Serializes a {@link Node.Type#STRING} value into a {@link URI} as defined by
+ * RFC 2396, which may be relative. Values are reserialized using {@link
+ * URI#toString()}, which preserves the original string.
+ */
+public final class URISerializer extends StringConverter<URI> {
+
+    public static final URISerializer INSTANCE = new URISerializer();
+
+    private URISerializer() {
+        super("uri-reference");
+    }
+
+    @Override
+    URI parse(String value) {
+        try {
+            return new URI(value);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Expected a URI, received " + value + " (" + e.getReason() + " at index " + e.getIndex() + ").");
+        }
+    }
+
+    @Override
+    String format(URI value) {
+        return value.toString();
+    }
+
+}
@@ -0,0 +1,48 @@
+package dev.willbanders.storm.serializer.common;
+
+import com.google.common.base.Preconditions;
+import dev.willbanders.storm.config.Node;
+
+import java.util.UUID;
+
+/**
+ * Serializes a {@link Node.Type#STRING} value into a {@link UUID}, written in
+ * the standard 8-4-4-4-12 hexadecimal form. Unlike {@link
+ * UUID#fromString(String)}, groups must have exactly the standard number of
+ * digits. Values are reserialized in lowercase.
+ */
+public final class UUIDSerializer extends StringConverter<UUID> {
+
+    public static final UUIDSerializer INSTANCE = new UUIDSerializer();
+
+    private UUIDSerializer() {
+        super("uuid");
+    }
+
+    @Override
+    UUID parse(String value) {
+        Preconditions.checkArgument(value.length() == 36
+                && value.charAt(8) == '-' && value.charAt(13) == '-'
+                && value.charAt(18) == '-' && value.charAt(23) == '-',
+                "Expected a UUID such as 123e4567-e89b-12d3-a456-426614174000, received %s.", value);
+        long most = hex(value, 0, 8) << 32 | hex(value, 9, 13) << 16 | hex(value, 14, 18);
+        long least = hex(value, 19, 23) << 48 | hex(value, 24, 36);
+        return new UUID(most, least);
+    }
+
+    private static long hex(String value, int start, int end) {
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(value.charAt(i), 16);
+            Preconditions.checkArgument(digit >= 0 && value.charAt(i) < 128, "Expected a hexadecimal digit, received %s.", value);
+            result = result << 4 | digit;
+        }
+        return result;
+    }
+
+    @Override
+    String format(UUID value) {
+        return value.toString();
+    }
+
+}
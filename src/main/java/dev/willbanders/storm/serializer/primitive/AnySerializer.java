@@ -1,5 +1,6 @@
 package dev.willbanders.storm.serializer.primitive;
 
+import com.google.common.collect.ImmutableMap;
 import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.serializer.SerializationException;
 import dev.willbanders.storm.serializer.Serializer;
@@ -31,7 +32,12 @@ public final class AnySerializer implements Serializer<Object> {
         if (value == null) {
             throw new SerializationException(node, "Expected a non-null value.");
         }
-        node.attach().setValue(value);
+        Node.builder(node).value(value);
+    }
+
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of("not", ImmutableMap.of("type", "null")));
     }
 
 }
@@ -1,5 +1,6 @@
 package dev.willbanders.storm.serializer.primitive;
 
+import com.google.common.collect.ImmutableMap;
 import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.serializer.SerializationException;
 import dev.willbanders.storm.serializer.Serializer;
@@ -29,4 +30,9 @@ public final class BooleanSerializer implements Serializer<Boolean> {
         node.attach().setValue(value);
     }
 
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of("type", "boolean"));
+    }
+
 }
@@ -1,9 +1,11 @@
 package dev.willbanders.storm.serializer.primitive;
 
+import com.google.common.collect.ImmutableMap;
 import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.serializer.SerializationException;
 import dev.willbanders.storm.serializer.Serializer;
 
+import java.math.BigInteger;
 import java.util.regex.Pattern;
 
 /**
@@ -14,10 +16,10 @@ public final class CharacterSerializer implements Serializer<Character> {
 
     public static final CharacterSerializer INSTANCE = new CharacterSerializer(null);
 
-    private final Pattern pattern;
+    private final Regex regex;
 
-    private CharacterSerializer(Pattern pattern) {
-        this.pattern = pattern;
+    private CharacterSerializer(Regex regex) {
+        this.regex = regex;
     }
 
     @Override
@@ -26,8 +28,8 @@ public final class CharacterSerializer implements Serializer<Character> {
             throw new SerializationException(node, "Expected a character value.");
         }
         Character value = (Character) node.getValue();
-        if (pattern != null && !pattern.matcher(value.toString()).matches()) {
-            throw new SerializationException(node, "Expected character to match " + pattern + ".");
+        if (regex != null && !regex.matches(value.toString())) {
+            throw new SerializationException(node, "Expected character to match " + regex + ".");
         }
         return value;
     }
@@ -36,25 +38,32 @@ public final class CharacterSerializer implements Serializer<Character> {
     public void reserialize(Node node, Character value) throws SerializationException {
         if (value == null) {
             throw new SerializationException(node, "Expected a non-null value.");
-        } else if (pattern != null && !pattern.matcher(value.toString()).matches()) {
-            throw new SerializationException(node, "Expected character to match " + pattern + ".");
+        } else if (regex != null && !regex.matches(value.toString())) {
+            throw new SerializationException(node, "Expected character to match " + regex + ".");
         }
         node.attach().setValue(value);
     }
 
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of("type", "string", "minLength", BigInteger.ONE, "maxLength", BigInteger.ONE));
+        SchemaSerializer.pattern(node, regex != null ? regex.getPattern() : null);
+    }
+
     /**
      * Returns a new serializer requiring the value to match the given regular
      * expression, compiled using {@link Pattern#compile(String)}.
+     * Compiled expressions are cached and shared between serializers.
      */
     public CharacterSerializer matches(String regex) {
-        return matches(Pattern.compile(regex));
+        return new CharacterSerializer(Regex.of(regex));
     }
 
     /**
      * Returns a new serializer requiring the value to match the given pattern.
      */
     public CharacterSerializer matches(Pattern pattern) {
-        return new CharacterSerializer(pattern);
+        return new CharacterSerializer(Regex.of(pattern));
     }
 
 }
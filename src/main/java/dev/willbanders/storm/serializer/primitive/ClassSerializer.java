@@ -1,6 +1,9 @@
 package dev.willbanders.storm.serializer.primitive;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import dev.willbanders.storm.Storm;
@@ -40,6 +43,11 @@ public class ClassSerializer<T> implements Serializer<T> {
         node.set(value);
     }
 
+    @Override
+    public void schema(Node node) {
+        Storm.SCOPE.get(clazz).schema(node);
+    }
+
     /**
      * Returns a new serializer for instances of the given class. The class must
      * be annotated with {@link Storm.Serialized}, and uses either method-based
@@ -68,13 +76,23 @@ public class ClassSerializer<T> implements Serializer<T> {
                             .map(Field::getType)
                             .toArray(Class[]::new))
                             .orElseThrow(() -> new IllegalArgumentException("No applicable constructor for field serialization in class " + clazz.getName() + ".")));
-            return new Fields<>(clazz, fields, constructor);
+            return new Fields<>(clazz, fields, constructor, null);
         } else {
             Optional<Method> reserialize = getMethod(clazz, void.class, "reserialize", Node.class, clazz);
             return new Methods<>(clazz, deserialize, reserialize);
         }
     }
 
+    /**
+     * Returns a serializer which ignores the given property when
+     * deserializing, such as the tag of a {@link TaggedSerializer}. Only
+     * field-based serialization checks for unexpected properties, and thus
+     * other serializers are returned as-is.
+     */
+    ClassSerializer<T> ignoring(String property) {
+        return this;
+    }
+
     private static <T> Optional<Constructor<T>> getConstructor(Class<T> clazz, Class<?>... parameters) {
         try {
             Constructor<T> constructor = clazz.getDeclaredConstructor(parameters);
@@ -99,39 +117,45 @@ public class ClassSerializer<T> implements Serializer<T> {
 
     private static final class Fields<T> extends ClassSerializer<T> {
 
+        private static final ThreadLocal<Set<Class<?>>> SCHEMA_PATH = ThreadLocal.withInitial(Sets::newHashSet);
+
         private final LinkedHashMap<String, Field> fields;
         private final Constructor<T> constructor;
+        private final String ignored;
 
-        private Fields(Class<T> clazz, LinkedHashMap<String, Field> fields, Constructor<T> constructor) {
+        private Fields(Class<T> clazz, LinkedHashMap<String, Field> fields, Constructor<T> constructor, String ignored) {
             super(clazz);
             this.fields = fields;
             this.constructor = constructor;
+            this.ignored = ignored;
         }
 
         @Override
         public T deserialize(Node node) throws SerializationException {
             if (node.getType() != Node.Type.OBJECT) {
                 throw new SerializationException(node, "Expected an object value.");
-            } else if (!fields.keySet().equals(node.getMap().keySet())) {
-                Set<String> expected = Sets.difference(fields.keySet(), node.getMap().keySet());
-                Set<String> unexpected = Sets.difference(node.getMap().keySet(), fields.keySet());
+            }
+            Set<String> properties = ignored != null ? Sets.difference(node.getMap().keySet(), ImmutableSet.of(ignored)) : node.getMap().keySet();
+            if (!fields.keySet().equals(properties)) {
+                Set<String> expected = Sets.difference(fields.keySet(), properties);
+                Set<String> unexpected = Sets.difference(properties, fields.keySet());
                 throw new SerializationException(node, "Expected properties " + expected + " and not " + unexpected + ".");
             }
-            Map<String, Object> values = Maps.newHashMap();
+            Object[] values = new Object[fields.size()];
+            int i = 0;
             for (Map.Entry<String, Field> entry : fields.entrySet()) {
-                values.put(entry.getKey(), node.get(entry.getKey(), entry.getValue().getType()));
+                values[i++] = node.resolve(entry.getKey()).get(entry.getValue().getType());
             }
             try {
                 if (constructor.getParameterCount() == 0) {
                     T instance = constructor.newInstance();
+                    i = 0;
                     for (Field field : fields.values()) {
-                        field.set(instance, values.get(field.getName()));
+                        field.set(instance, values[i++]);
                     }
                     return instance;
                 } else {
-                    return constructor.newInstance(fields.values().stream()
-                            .map(f -> values.get(f.getName()))
-                            .toArray(Object[]::new));
+                    return constructor.newInstance(values);
                 }
             } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
                 throw new SerializationException(node, e.getMessage());
@@ -152,6 +176,33 @@ public class ClassSerializer<T> implements Serializer<T> {
             }
         }
 
+        @Override
+        ClassSerializer<T> ignoring(String property) {
+            return new Fields<>(super.clazz, fields, constructor, property);
+        }
+
+        /**
+         * Writes the object schema of the fields. References are not
+         * supported, and thus a class which is already being written on the
+         * current path, as in a recursive class, is written as {@code {}}.
+         */
+        @Override
+        public void schema(Node node) {
+            Set<Class<?>> path = SCHEMA_PATH.get();
+            if (!path.add(super.clazz)) {
+                node.attach().setValue(ImmutableMap.of());
+                return;
+            }
+            try {
+                node.attach().setValue(ImmutableMap.of("type", "object", "properties", ImmutableMap.of(), "required", ImmutableList.copyOf(fields.keySet()), "additionalProperties", false));
+                for (Map.Entry<String, Field> entry : fields.entrySet()) {
+                    Storm.SCOPE.get(entry.getValue().getType()).schema(node.resolve("properties", entry.getKey()));
+                }
+            } finally {
+                path.remove(super.clazz);
+            }
+        }
+
     }
 
     private static final class Methods<T> extends ClassSerializer<T> {
@@ -186,6 +237,15 @@ public class ClassSerializer<T> implements Serializer<T> {
             }
         }
 
+        /**
+         * Serialization methods are opaque, and thus the schema accepts any
+         * value.
+         */
+        @Override
+        public void schema(Node node) {
+            node.attach().setValue(ImmutableMap.of());
+        }
+
     }
 
 }
@@ -1,5 +1,6 @@
 package dev.willbanders.storm.serializer.primitive;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Range;
 import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.serializer.SerializationException;
@@ -21,10 +22,12 @@ public final class DecimalSerializer<T extends Number & Comparable<T>> implement
 
     private final Function<BigDecimal, T> parser;
     private final Range<T> range;
+    private final boolean checked;
 
     private DecimalSerializer(Function<BigDecimal, T> parser, Range<T> range) {
         this.parser = parser;
         this.range = range;
+        this.checked = !range.equals(Range.all());
     }
 
     @Override
@@ -33,7 +36,7 @@ public final class DecimalSerializer<T extends Number & Comparable<T>> implement
             throw new SerializationException(node, "Expected a decimal value.");
         }
         T value = parser.apply((BigDecimal) node.getValue());
-        if (!range.contains(value)) {
+        if (checked && !range.contains(value)) {
             throw new SerializationException(node, "Expected value to be in range " + range + ".");
         }
         return value;
@@ -49,6 +52,12 @@ public final class DecimalSerializer<T extends Number & Comparable<T>> implement
         node.attach().setValue(new BigDecimal(value.toString()));
     }
 
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of("type", "number"));
+        SchemaSerializer.bounds(node, range);
+    }
+
     /**
      * Returns a new serializer requiring the value to be contained within the
      * given range.
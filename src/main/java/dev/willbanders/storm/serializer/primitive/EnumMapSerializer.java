@@ -0,0 +1,92 @@
+package dev.willbanders.storm.serializer.primitive;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.serializer.SerializationException;
+import dev.willbanders.storm.serializer.Serializer;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Serializes a {@link Node.Type#OBJECT} value into an {@link EnumMap} with keys
+ * of type {@link K} and values of type {@link V}. Keys are matched as by {@link
+ * EnumSerializer}, and must refer to distinct constants.
+ */
+public final class EnumMapSerializer<K extends Enum<K>, V> implements Serializer<EnumMap<K, V>> {
+
+    public static final EnumMapSerializer<?, Object> INSTANCE = new EnumMapSerializer<>(null, NullableSerializer.INSTANCE);
+
+    private final EnumSerializer<K> keys;
+    private final Serializer<V> serializer;
+
+    private EnumMapSerializer(EnumSerializer<K> keys, Serializer<V> serializer) {
+        this.keys = keys;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public EnumMap<K, V> deserialize(Node node) throws SerializationException {
+        if (node.getType() != Node.Type.OBJECT) {
+            throw new SerializationException(node, "Expected an object value.");
+        }
+        EnumMap<K, V> value = new EnumMap<>(keys.getEnumClass());
+        Map<K, String> defined = Maps.newEnumMap(keys.getEnumClass());
+        for (Map.Entry<String, Node> entry : node.getMap().entrySet()) {
+            K key = keys.find(entry.getKey());
+            if (key == null) {
+                throw new SerializationException(entry.getValue(), "Expected the key to be one of " + keys.getConstants() + ".");
+            } else if (defined.containsKey(key)) {
+                throw new SerializationException(entry.getValue(), "Expected map to contain unique keys, " +
+                        "found duplicates " + defined.get(key) + " and " + entry.getKey() + ".");
+            }
+            defined.put(key, entry.getKey());
+            value.put(key, serializer.deserialize(entry.getValue()));
+        }
+        return value;
+    }
+
+    @Override
+    public void reserialize(Node node, EnumMap<K, V> value) throws SerializationException {
+        if (value == null) {
+            throw new SerializationException(node, "Expected a non-null value.");
+        }
+        if (node.getType() == Node.Type.OBJECT) {
+            for (Node child : Lists.newArrayList(node.getMap().values())) {
+                K key = keys.find((String) child.getKey());
+                if (key == null || !key.name().equals(child.getKey()) || !value.containsKey(key)) {
+                    child.detach();
+                }
+            }
+        } else {
+            node.attach().setValue(Maps.newLinkedHashMap());
+        }
+        for (Map.Entry<K, V> entry : value.entrySet()) {
+            node.resolve(entry.getKey().name()).set(entry.getValue(), serializer);
+        }
+    }
+
+    /**
+     * Writes a schema matching keys case-insensitively, as with {@link
+     * EnumSerializer#schema(Node)}, using {@code propertyNames}.
+     */
+    @Override
+    public void schema(Node node) {
+        String pattern = keys.pattern();
+        node.attach().setValue(ImmutableMap.of("type", "object", "propertyNames", pattern != null
+                ? ImmutableMap.of("type", "string", "pattern", pattern)
+                : false));
+        serializer.schema(node.resolve("additionalProperties"));
+    }
+
+    /**
+     * Returns a new serializer for maps with keys of the given enum class that
+     * delegates to the given serializer for serializing values.
+     */
+    public <K extends Enum<K>, V> EnumMapSerializer<K, V> of(Class<K> clazz, Serializer<V> serializer) {
+        return new EnumMapSerializer<>(EnumSerializer.INSTANCE.of(clazz), serializer);
+    }
+
+}
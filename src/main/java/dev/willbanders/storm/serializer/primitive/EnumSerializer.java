@@ -1,31 +1,54 @@
 package dev.willbanders.storm.serializer.primitive;
 
-import com.google.common.collect.Sets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.serializer.SerializationException;
 import dev.willbanders.storm.serializer.Serializer;
 
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Serializes an {@link Enum} constant to its name. Deserialization is currently
- * case-insensitive, but this may change in the future.
+ * case-insensitive, but this may change in the future. An exact match takes
+ * priority over a case-insensitive one, and otherwise the first constant in
+ * declaration order is used.
+ *
+ * @see EnumSetSerializer for sets of constants
+ * @see EnumMapSerializer for maps with constants as keys
  */
 public final class EnumSerializer<T extends Enum<T>> implements Serializer<T> {
 
     public static final EnumSerializer<?> INSTANCE = new EnumSerializer<>(null);
 
-    private final Set<T> constants;
+    private final Class<T> clazz;
+    private final List<T> constants;
+    private final Map<String, T> names;
+    private final Map<String, T> folded;
 
-    private EnumSerializer(Set<T> constants) {
-        this.constants = constants;
+    private EnumSerializer(Class<T> clazz) {
+        this.clazz = clazz;
+        this.constants = clazz != null ? ImmutableList.copyOf(clazz.getEnumConstants()) : ImmutableList.of();
+        Map<String, T> names = Maps.newHashMapWithExpectedSize(constants.size());
+        Map<String, T> folded = Maps.newHashMapWithExpectedSize(constants.size());
+        for (T constant : constants) {
+            names.put(constant.name(), constant);
+            folded.putIfAbsent(fold(constant.name()), constant);
+        }
+        this.names = ImmutableMap.copyOf(names);
+        this.folded = ImmutableMap.copyOf(folded);
     }
 
     @Override
     public T deserialize(Node node) throws SerializationException {
-        String value = node.get(StringSerializer.INSTANCE);
-        return constants.stream().filter(c -> c.name().equalsIgnoreCase(value)).findFirst()
-                .orElseThrow(() -> new SerializationException(node, "Expected the value to be one of " + constants + "."));
+        T constant = find(node.get(StringSerializer.INSTANCE));
+        if (constant == null) {
+            throw new SerializationException(node, "Expected the value to be one of " + constants + ".");
+        }
+        return constant;
     }
 
     @Override
@@ -36,11 +59,91 @@ public final class EnumSerializer<T extends Enum<T>> implements Serializer<T> {
         node.attach().setValue(value.name());
     }
 
+    /**
+     * Writes a schema matching the names of the constants case-insensitively,
+     * as with deserialization. JSON Schema does not support case-insensitive
+     * {@code enum} values, so this uses a pattern instead.
+     */
+    @Override
+    public void schema(Node node) {
+        String pattern = pattern();
+        node.attach().setValue(pattern != null
+                ? ImmutableMap.of("type", "string", "pattern", pattern)
+                : ImmutableMap.of("type", "string", "enum", ImmutableList.of()));
+    }
+
+    Class<T> getEnumClass() {
+        return clazz;
+    }
+
+    List<T> getConstants() {
+        return constants;
+    }
+
+    /**
+     * Returns the constant matching the given name, or {@code null} if there
+     * is no match.
+     */
+    T find(String name) {
+        T constant = names.get(name);
+        return constant != null ? constant : folded.get(fold(name));
+    }
+
+    /**
+     * Returns an anchored ECMA-262 pattern matching exactly the names matched
+     * by {@link #find(String)}, or {@code null} if there are no constants.
+     * Each character is replaced by a class of all characters with the same
+     * folded case, such as {@code [Aa]} for {@code A}, which may include
+     * characters outside of ASCII.
+     */
+    String pattern() {
+        if (constants.isEmpty()) {
+            return null;
+        }
+        Map<Character, StringBuilder> classes = Maps.newHashMap();
+        for (T constant : constants) {
+            for (char c : constant.name().toCharArray()) {
+                classes.put(fold(c), new StringBuilder());
+            }
+        }
+        for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+            StringBuilder builder = classes.get(fold((char) c));
+            if (builder != null) {
+                builder.append((char) c);
+            }
+        }
+        return constants.stream().map(constant -> {
+            StringBuilder builder = new StringBuilder();
+            for (char c : constant.name().toCharArray()) {
+                String chars = classes.get(fold(c)).toString();
+                builder.append(chars.length() > 1 ? "[" + chars + "]" : "$".equals(chars) ? "\\$" : chars);
+            }
+            return builder.toString();
+        }).collect(Collectors.joining("|", "^(?:", ")$"));
+    }
+
+    /**
+     * Folds the case of a name consistent with {@link
+     * String#equalsIgnoreCase(String)}, which compares both the upper and
+     * lower case forms of each character.
+     */
+    private static String fold(String name) {
+        char[] chars = name.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
     /**
      * Returns a new serializer for the given enum class.
      */
     public <T extends Enum<T>> EnumSerializer<T> of(Class<T> clazz) {
-        return new EnumSerializer<>(Sets.newHashSet(clazz.getEnumConstants()));
+        return new EnumSerializer<>(clazz);
     }
 
 }
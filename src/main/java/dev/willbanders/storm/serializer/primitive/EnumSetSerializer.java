@@ -0,0 +1,69 @@
+package dev.willbanders.storm.serializer.primitive;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.serializer.SerializationException;
+import dev.willbanders.storm.serializer.Serializer;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Serializes a {@link Node.Type#ARRAY} value into an {@link EnumSet} of {@link
+ * T}, using an {@link EnumSerializer} for elements. Values in the array must be
+ * distinct, and are reserialized in declaration order.
+ */
+public final class EnumSetSerializer<T extends Enum<T>> implements Serializer<EnumSet<T>> {
+
+    public static final EnumSetSerializer<?> INSTANCE = new EnumSetSerializer<>(null);
+
+    private final EnumSerializer<T> serializer;
+
+    private EnumSetSerializer(EnumSerializer<T> serializer) {
+        this.serializer = serializer;
+    }
+
+    @Override
+    public EnumSet<T> deserialize(Node node) throws SerializationException {
+        if (node.getType() != Node.Type.ARRAY) {
+            throw new SerializationException(node, "Expected a value of type array.");
+        }
+        List<Node> list = node.getList();
+        EnumSet<T> value = EnumSet.noneOf(serializer.getEnumClass());
+        for (int i = 0; i < list.size(); i++) {
+            T constant = serializer.deserialize(list.get(i));
+            if (!value.add(constant)) {
+                int previous = 0;
+                while (serializer.deserialize(list.get(previous)) != constant) {
+                    previous++;
+                }
+                throw new SerializationException(node, "Expected set to contain unique elements, " +
+                        "found duplicates at indices " + previous + " and " + i + ".");
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void reserialize(Node node, EnumSet<T> value) throws SerializationException {
+        if (value == null) {
+            throw new SerializationException(node, "Expected a non-null value.");
+        }
+        node.set(Lists.newArrayList(value), ListSerializer.INSTANCE.of(serializer));
+    }
+
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of("type", "array", "uniqueItems", true));
+        serializer.schema(node.resolve("items"));
+    }
+
+    /**
+     * Returns a new serializer for sets of the given enum class.
+     */
+    public <T extends Enum<T>> EnumSetSerializer<T> of(Class<T> clazz) {
+        return new EnumSetSerializer<>(EnumSerializer.INSTANCE.of(clazz));
+    }
+
+}
@@ -1,5 +1,6 @@
 package dev.willbanders.storm.serializer.primitive;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Range;
 import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.serializer.SerializationException;
@@ -12,6 +13,9 @@ import java.util.function.Function;
  * Serializes a {@link Node.Type#INTEGER} value into an integer number of type
  * {@link T}. A {@link Range} may be provided to require the value to be
  * contained within a range.
+ *
+ * <p>Values are always converted exactly, and thus the range is only checked
+ * when it is narrower than the bounds of the type.</p>
  */
 public final class IntegerSerializer<T extends Number & Comparable<T>> implements Serializer<T> {
 
@@ -22,11 +26,19 @@ public final class IntegerSerializer<T extends Number & Comparable<T>> implement
     public static final IntegerSerializer<BigInteger> BIG_INTEGER = new IntegerSerializer<>(Function.identity(), Range.all());
 
     private final Function<BigInteger, T> parser;
+    private final Range<T> bounds;
     private final Range<T> range;
+    private final boolean checked;
 
-    private IntegerSerializer(Function<BigInteger, T> parser, Range<T> range) {
+    private IntegerSerializer(Function<BigInteger, T> parser, Range<T> bounds) {
+        this(parser, bounds, bounds);
+    }
+
+    private IntegerSerializer(Function<BigInteger, T> parser, Range<T> bounds, Range<T> range) {
         this.parser = parser;
+        this.bounds = bounds;
         this.range = range;
+        this.checked = !range.encloses(bounds);
     }
 
     @Override
@@ -36,7 +48,7 @@ public final class IntegerSerializer<T extends Number & Comparable<T>> implement
         }
         try {
             T value = parser.apply((BigInteger) node.getValue());
-            if (!range.contains(value)) {
+            if (checked && !range.contains(value)) {
                 throw new SerializationException(node, "Expected value to be in range " + range + ".");
             }
             return value;
@@ -55,12 +67,18 @@ public final class IntegerSerializer<T extends Number & Comparable<T>> implement
         node.attach().setValue(new BigInteger(value.toString()));
     }
 
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of("type", "integer"));
+        SchemaSerializer.bounds(node, range);
+    }
+
     /**
      * Returns a new serializer requiring the value to be contained within the
      * given range.
      */
     public Serializer<T> range(Range<T> range) {
-        return new IntegerSerializer<>(parser, range);
+        return new IntegerSerializer<>(parser, bounds, range);
     }
 
 }
@@ -1,6 +1,7 @@
 package dev.willbanders.storm.serializer.primitive;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
 import dev.willbanders.storm.config.Node;
@@ -8,24 +9,31 @@ import dev.willbanders.storm.serializer.SerializationException;
 import dev.willbanders.storm.serializer.Serializer;
 
 import java.util.List;
+import java.util.stream.Collector;
 
 /**
  * Serializes a {@link Node.Type#ARRAY} value into a {@link List} of {@link T}.
  * A {@link Range} may be provided to require the size of the list to be
  * contained within a range.
  *
+ * <p>By default, lists are deserialized into a pre-sized {@link
+ * java.util.ArrayList}. A {@link Collector} may be provided to deserialize
+ * into another list, such as with {@link ImmutableList#toImmutableList()}.</p>
+ *
  * @see TupleSerializer for non-homogeneous lists
  */
 public final class ListSerializer<T> implements Serializer<List<T>> {
 
-    public static final ListSerializer<Object> INSTANCE = new ListSerializer<>(NullableSerializer.INSTANCE, Range.all());
+    public static final ListSerializer<Object> INSTANCE = new ListSerializer<>(NullableSerializer.INSTANCE, Range.all(), null);
 
     private final Serializer<T> serializer;
     private final Range<Integer> size;
+    private final Collector<T, ?, ? extends List<T>> collector;
 
-    private ListSerializer(Serializer<T> serializer, Range<Integer> size) {
+    private ListSerializer(Serializer<T> serializer, Range<Integer> size, Collector<T, ?, ? extends List<T>> collector) {
         this.serializer = serializer;
         this.size = size;
+        this.collector = collector;
     }
 
     @Override
@@ -35,7 +43,23 @@ public final class ListSerializer<T> implements Serializer<List<T>> {
         } else if (!size.contains(node.getList().size())) {
             throw new SerializationException(node, "Expected the size of the list to be in range " + size + ".");
         }
-        return Lists.newArrayList(Lists.transform(node.getList(), serializer::deserialize));
+        return collector != null ? collect(node.getList(), collector) : collect(node.getList());
+    }
+
+    private List<T> collect(List<Node> nodes) throws SerializationException {
+        List<T> list = Lists.newArrayListWithCapacity(nodes.size());
+        for (Node node : nodes) {
+            list.add(serializer.deserialize(node));
+        }
+        return list;
+    }
+
+    private <A, R extends List<T>> R collect(List<Node> nodes, Collector<T, A, R> collector) throws SerializationException {
+        A container = collector.supplier().get();
+        for (Node node : nodes) {
+            collector.accumulator().accept(container, serializer.deserialize(node));
+        }
+        return collector.finisher().apply(container);
     }
 
     @Override
@@ -46,9 +70,7 @@ public final class ListSerializer<T> implements Serializer<List<T>> {
             throw new SerializationException(node, "Expected the size of the list to be in range " + size + ".");
         }
         if (node.getType() == Node.Type.ARRAY) {
-            for (int i = node.getList().size(); i > value.size(); i--) {
-                node.resolve(i - 1).detach();
-            }
+            node.truncate(value.size());
         } else {
             node.attach().setValue(Lists.newArrayList());
         }
@@ -57,12 +79,19 @@ public final class ListSerializer<T> implements Serializer<List<T>> {
         }
     }
 
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of("type", "array"));
+        serializer.schema(node.resolve("items"));
+        SchemaSerializer.size(node, size, "minItems", "maxItems");
+    }
+
     /**
      * Returns a new serializer that delegates to the given serializer for
      * serializing elements.
      */
     public <T> ListSerializer<T> of(Serializer<T> serializer) {
-        return new ListSerializer<>(serializer, Range.all());
+        return new ListSerializer<>(serializer, Range.all(), null);
     }
 
     /**
@@ -70,7 +99,15 @@ public final class ListSerializer<T> implements Serializer<List<T>> {
      * within the given range.
      */
     public ListSerializer<T> size(Range<Integer> size) {
-        return new ListSerializer<>(serializer, size);
+        return new ListSerializer<>(serializer, size, collector);
+    }
+
+    /**
+     * Returns a new serializer which deserializes lists using the given
+     * collector, such as {@link ImmutableList#toImmutableList()}.
+     */
+    public ListSerializer<T> collector(Collector<T, ?, ? extends List<T>> collector) {
+        return new ListSerializer<>(serializer, size, collector);
     }
 
 }
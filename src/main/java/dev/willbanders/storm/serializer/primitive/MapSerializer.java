@@ -9,24 +9,32 @@ import dev.willbanders.storm.serializer.SerializationException;
 import dev.willbanders.storm.serializer.Serializer;
 
 import java.util.Map;
+import java.util.stream.Collector;
 
 /**
  * Serializes a {@link Node.Type#OBJECT} value into a {@link Map} with String
  * keys and values of type {@link T}. A {@link Range} may be provided to require
  * the size of the map to be contained within a range.
  *
+ * <p>By default, maps are deserialized into a pre-sized {@link
+ * java.util.LinkedHashMap} to preserve the order of the object. A {@link
+ * Collector} of entries may be provided to deserialize into another map, such
+ * as with {@link ImmutableMap#toImmutableMap}.</p>
+ *
  * @see ObjectSerializer for non-homogeneous maps
  */
 public final class MapSerializer<T> implements Serializer<Map<String, T>> {
 
-    public static final MapSerializer<Object> INSTANCE = new MapSerializer<>(NullableSerializer.INSTANCE, Range.all());
+    public static final MapSerializer<Object> INSTANCE = new MapSerializer<>(NullableSerializer.INSTANCE, Range.all(), null);
 
     private final Serializer<T> serializer;
     private final Range<Integer> size;
+    private final Collector<Map.Entry<String, T>, ?, ? extends Map<String, T>> collector;
 
-    private MapSerializer(Serializer<T> serializer, Range<Integer> size) {
+    private MapSerializer(Serializer<T> serializer, Range<Integer> size, Collector<Map.Entry<String, T>, ?, ? extends Map<String, T>> collector) {
         this.serializer = serializer;
         this.size = size;
+        this.collector = collector;
     }
 
     @Override
@@ -36,7 +44,23 @@ public final class MapSerializer<T> implements Serializer<Map<String, T>> {
         } else if (!size.contains(node.getMap().size())) {
             throw new SerializationException(node, "Expected the size of the map to be in range " + size + ".");
         }
-        return Maps.newHashMap(Maps.transformValues(node.getMap(), serializer::deserialize));
+        return collector != null ? collect(node.getMap(), collector) : collect(node.getMap());
+    }
+
+    private Map<String, T> collect(Map<String, Node> nodes) throws SerializationException {
+        Map<String, T> map = Maps.newLinkedHashMapWithExpectedSize(nodes.size());
+        for (Map.Entry<String, Node> entry : nodes.entrySet()) {
+            map.put(entry.getKey(), serializer.deserialize(entry.getValue()));
+        }
+        return map;
+    }
+
+    private <A, R extends Map<String, T>> R collect(Map<String, Node> nodes, Collector<Map.Entry<String, T>, A, R> collector) throws SerializationException {
+        A container = collector.supplier().get();
+        for (Map.Entry<String, Node> entry : nodes.entrySet()) {
+            collector.accumulator().accept(container, Maps.immutableEntry(entry.getKey(), serializer.deserialize(entry.getValue())));
+        }
+        return collector.finisher().apply(container);
     }
 
     @Override
@@ -54,16 +78,23 @@ public final class MapSerializer<T> implements Serializer<Map<String, T>> {
             node.attach().setValue(ImmutableMap.of());
         }
         for (Map.Entry<String, T> entry : value.entrySet()) {
-            node.set(entry.getKey(), entry.getValue(), serializer);
+            node.resolve(entry.getKey()).set(entry.getValue(), serializer);
         }
     }
 
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of("type", "object"));
+        serializer.schema(node.resolve("additionalProperties"));
+        SchemaSerializer.size(node, size, "minProperties", "maxProperties");
+    }
+
     /**
      * Returns a new serializer that delegates to the given serializer for
      * serializing values.
      */
     public <T> MapSerializer<T> of(Serializer<T> serializer) {
-        return new MapSerializer<>(serializer, Range.all());
+        return new MapSerializer<>(serializer, Range.all(), null);
     }
 
     /**
@@ -71,7 +102,16 @@ public final class MapSerializer<T> implements Serializer<Map<String, T>> {
      * within the given range.
      */
     public MapSerializer<T> size(Range<Integer> size) {
-        return new MapSerializer<>(serializer, size);
+        return new MapSerializer<>(serializer, size, collector);
+    }
+
+    /**
+     * Returns a new serializer which deserializes maps using the given
+     * collector of entries, such as {@code ImmutableMap.toImmutableMap(
+     * Map.Entry::getKey, Map.Entry::getValue)}.
+     */
+    public MapSerializer<T> collector(Collector<Map.Entry<String, T>, ?, ? extends Map<String, T>> collector) {
+        return new MapSerializer<>(serializer, size, collector);
     }
 
 }
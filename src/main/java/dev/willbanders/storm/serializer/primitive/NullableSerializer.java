@@ -1,5 +1,7 @@
 package dev.willbanders.storm.serializer.primitive;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.serializer.SerializationException;
 import dev.willbanders.storm.serializer.Serializer;
@@ -49,6 +51,12 @@ public final class NullableSerializer<T> implements Serializer<T> {
         }
     }
 
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of("anyOf", ImmutableList.of(ImmutableMap.of("type", "null"))));
+        serializer.schema(node.resolve("anyOf", 1));
+    }
+
     /**
      * Returns a new serializer that delegates to the given serializer if the
      * node value is not {@link Node.Type#NULL}.
@@ -1,5 +1,6 @@
 package dev.willbanders.storm.serializer.primitive;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
@@ -7,23 +8,33 @@ import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.serializer.SerializationException;
 import dev.willbanders.storm.serializer.Serializer;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
 
 /**
  * Serializes a {@link Node.Type#OBJECT} value into a {@link Map} with String
  * keys and values of type {@link T}. Unlike {@link MapSerializer}, this
  * serializer supports non-homogeneous maps as in {@code {x = true, y = 1, z =
  * "string"}}.
+ *
+ * <p>By default, maps are deserialized into a pre-sized {@link
+ * java.util.LinkedHashMap} in the order of the given serializers. A {@link
+ * Collector} of entries may be provided to deserialize into another map, as
+ * with {@link MapSerializer#collector(Collector)}.</p>
  */
 public final class ObjectSerializer<T> implements Serializer<Map<String, ? extends T>> {
 
-    public static final ObjectSerializer<Object> INSTANCE = new ObjectSerializer<>(Maps.newHashMap());
+    public static final ObjectSerializer<Object> INSTANCE = new ObjectSerializer<>(Maps.newHashMap(), null);
 
     private final Map<String, Serializer<? extends T>> serializers;
+    private final Collector<Map.Entry<String, T>, ?, ? extends Map<String, ? extends T>> collector;
 
-    private ObjectSerializer(Map<String, Serializer<? extends T>> serializers) {
+    private ObjectSerializer(Map<String, Serializer<? extends T>> serializers, Collector<Map.Entry<String, T>, ?, ? extends Map<String, ? extends T>> collector) {
         this.serializers = serializers;
+        this.collector = collector;
     }
 
     @Override
@@ -34,7 +45,23 @@ public final class ObjectSerializer<T> implements Serializer<Map<String, ? exten
             Set<String> unexpected = Sets.difference(node.getMap().keySet(), serializers.keySet());
             throw new SerializationException(node, "Unexpected properties " + unexpected + ".");
         }
-        return Maps.newHashMap(Maps.transformEntries(serializers, node::get));
+        return collector != null ? collect(node, collector) : collect(node);
+    }
+
+    private Map<String, T> collect(Node node) throws SerializationException {
+        Map<String, T> map = Maps.newLinkedHashMapWithExpectedSize(serializers.size());
+        for (Map.Entry<String, Serializer<? extends T>> entry : serializers.entrySet()) {
+            map.put(entry.getKey(), node.resolve(entry.getKey()).get(entry.getValue()));
+        }
+        return map;
+    }
+
+    private <A, R extends Map<String, ? extends T>> R collect(Node node, Collector<Map.Entry<String, T>, A, R> collector) throws SerializationException {
+        A container = collector.supplier().get();
+        for (Map.Entry<String, Serializer<? extends T>> entry : serializers.entrySet()) {
+            collector.accumulator().accept(container, Maps.immutableEntry(entry.getKey(), node.resolve(entry.getKey()).get(entry.getValue())));
+        }
+        return collector.finisher().apply(container);
     }
 
     @Override
@@ -55,20 +82,42 @@ public final class ObjectSerializer<T> implements Serializer<Map<String, ? exten
         }
         for (Map.Entry<String, ? extends T> entry : value.entrySet()) {
             try {
-                node.set(entry.getKey(), entry.getValue(), (Serializer<T>) serializers.get(entry.getKey()));
+                node.resolve(entry.getKey()).set(entry.getValue(), (Serializer<T>) serializers.get(entry.getKey()));
             } catch (ClassCastException e) {
                 throw new SerializationException(node.resolve(entry.getKey()), e.getMessage());
             }
         }
     }
 
+    @Override
+    public void schema(Node node) {
+        List<String> required = serializers.entrySet().stream()
+                .filter(e -> !(e.getValue() instanceof OptionalSerializer || e.getValue() instanceof OptionalSerializer.OptionalDefaultSerializer))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        node.attach().setValue(ImmutableMap.of("type", "object", "properties", ImmutableMap.of(), "required", required, "additionalProperties", false));
+        for (Map.Entry<String, Serializer<? extends T>> entry : serializers.entrySet()) {
+            entry.getValue().schema(node.resolve("properties", entry.getKey()));
+        }
+    }
+
     /**
      * Returns a new serializer delegating to the given serializer corresponding
      * the node's key. Unknown keys are considered errors, as are missing keys
      * during reserialization.
      */
     public <T> ObjectSerializer<T> of(Map<String, Serializer<? extends T>> serializers) {
-        return new ObjectSerializer<>(serializers);
+        return new ObjectSerializer<>(serializers, null);
+    }
+
+    /**
+     * Returns a new serializer which deserializes maps using the given
+     * collector of entries.
+     *
+     * @see MapSerializer#collector(Collector)
+     */
+    public ObjectSerializer<T> collector(Collector<Map.Entry<String, T>, ?, ? extends Map<String, ? extends T>> collector) {
+        return new ObjectSerializer<>(serializers, collector);
     }
 
 }
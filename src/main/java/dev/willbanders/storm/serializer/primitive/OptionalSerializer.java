@@ -45,6 +45,11 @@ public final class OptionalSerializer<T> implements Serializer<Optional<T>> {
         }
     }
 
+    @Override
+    public void schema(Node node) {
+        serializer.schema(node);
+    }
+
     /**
      * Returns a new serializer that delegates to the given serializer if the
      * node value is not {@link Node.Type#UNDEFINED}.
@@ -95,6 +100,11 @@ public final class OptionalSerializer<T> implements Serializer<Optional<T>> {
             }
         }
 
+        @Override
+        public void schema(Node node) {
+            serializer.schema(node);
+        }
+
         /**
          * Returns a new serializer that reserializes the default value to
          * {@code undefined} if {@code true} else to the corresponding config
@@ -0,0 +1,436 @@
+package dev.willbanders.storm.serializer.primitive;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A compiled regular expression with prefilters to avoid running the regex
+ * engine where possible. Expressions are analyzed once when compiled:
+ *
+ * <ul>
+ *     <li>Expressions which are entirely literal, as in {@code abc} or
+ *     {@code a\.b}, are matched with {@link String#equals(Object)}.</li>
+ *     <li>Expressions which are a single ASCII character class with an
+ *     optional quantifier, as in {@code [a-z0-9_]+} or {@code \d{1,3}}, are
+ *     matched with a bitset and length bounds.</li>
+ *     <li>Otherwise, the literal prefix and suffix of the expression, as in
+ *     {@code http} and {@code .com} for {@code https?://.*\.com}, are used
+ *     to reject values before running the regex engine.</li>
+ * </ul>
+ *
+ * <p>The analysis is conservative, and is skipped entirely for expressions
+ * using flags, alternation, inline flags, quotation, or back references.
+ * Escape sequences other than escaped metacharacters, such as {@code \x41}
+ * or {@code \p{Lu}}, are never treated as literals. Compiled expressions are
+ * shared through a cache keyed by the expression.</p>
+ */
+final class Regex {
+
+    private static final int CACHE_SIZE = 1024;
+    private static final Map<String, Regex> CACHE = new ConcurrentHashMap<>();
+
+    private final Pattern pattern;
+    private final String literal;
+    private final String prefix;
+    private final String suffix;
+    private final long[] charset;
+    private final int min;
+    private final int max;
+
+    private Regex(Pattern pattern) {
+        this.pattern = pattern;
+        Analysis analysis = pattern.flags() == 0 ? new Analysis(pattern.pattern()) : null;
+        this.literal = analysis != null ? analysis.literal : null;
+        this.prefix = analysis != null ? analysis.prefix : "";
+        this.suffix = analysis != null ? analysis.suffix : "";
+        this.charset = analysis != null ? analysis.charset : null;
+        this.min = analysis != null ? analysis.min : 0;
+        this.max = analysis != null ? analysis.max : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the compiled expression, which may be shared.
+     *
+     * @throws java.util.regex.PatternSyntaxException if the expression is
+     *     invalid
+     */
+    static Regex of(String regex) {
+        Regex cached = CACHE.get(regex);
+        if (cached == null) {
+            cached = new Regex(Pattern.compile(regex));
+            if (CACHE.size() < CACHE_SIZE) {
+                CACHE.putIfAbsent(regex, cached);
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Returns the compiled expression for the given pattern, which is shared
+     * with {@link #of(String)} if the pattern does not use flags.
+     */
+    static Regex of(Pattern pattern) {
+        return pattern.flags() == 0 ? of(pattern.pattern()) : new Regex(pattern);
+    }
+
+    Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns true if the entire value matches, as in {@link
+     * java.util.regex.Matcher#matches()}.
+     */
+    boolean matches(String value) {
+        if (literal != null) {
+            return literal.equals(value);
+        } else if (charset != null) {
+            if (value.length() < min || value.length() > max) {
+                return false;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 128 || (charset[c >> 6] & 1L << c) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (value.length() < min || !value.startsWith(prefix) || !value.endsWith(suffix)) {
+            return false;
+        }
+        return pattern.matcher(value).matches();
+    }
+
+    @Override
+    public String toString() {
+        return pattern.toString();
+    }
+
+    /**
+     * Analyzes an expression as a sequence of top-level tokens, where each
+     * token is a literal character, a quantifier, or any other construct.
+     */
+    private static final class Analysis {
+
+        private static final int OTHER = -1;
+        private static final int QUANTIFIER = -2;
+
+        private String literal = null;
+        private String prefix = "";
+        private String suffix = "";
+        private long[] charset = null;
+        private int min = 0;
+        private int max = Integer.MAX_VALUE;
+
+        private Analysis(String regex) {
+            if (regex.contains("|") || regex.contains("(?") || regex.contains("\\Q")) {
+                return;
+            }
+            int start = regex.startsWith("^") ? 1 : 0;
+            int end = regex.length();
+            if (end > start && regex.charAt(end - 1) == '$' && !isEscaped(regex, end - 1)) {
+                end--;
+            }
+            String body = regex.substring(start, end);
+            if (!analyzeCharset(body)) {
+                analyzeLiterals(body);
+            }
+        }
+
+        private static boolean isEscaped(String regex, int index) {
+            int count = 0;
+            while (index > 0 && regex.charAt(index - 1) == '\\') {
+                count++;
+                index--;
+            }
+            return count % 2 == 1;
+        }
+
+        private void analyzeLiterals(String body) {
+            int[] tokens = new int[body.length()];
+            int size = 0;
+            for (int i = 0; i < body.length(); i++) {
+                char c = body.charAt(i);
+                if (c == '\\') {
+                    if (i + 1 >= body.length()) {
+                        return;
+                    }
+                    char next = body.charAt(i + 1);
+                    if (Character.isLetterOrDigit(next)) {
+                        i = skipEscape(body, i);
+                        if (i < 0) {
+                            return;
+                        }
+                        tokens[size++] = OTHER;
+                    } else {
+                        tokens[size++] = next >= 128 ? OTHER : next;
+                        i++;
+                    }
+                } else if (c == '[') {
+                    i = skipClass(body, i);
+                    if (i < 0) {
+                        return;
+                    }
+                    tokens[size++] = OTHER;
+                } else if (c == '{') {
+                    i = body.indexOf('}', i);
+                    if (i < 0) {
+                        return;
+                    }
+                    tokens[size++] = QUANTIFIER;
+                } else if (c == '?' || c == '*' || c == '+') {
+                    tokens[size++] = QUANTIFIER;
+                } else if (c == '.' || c == '^' || c == '$' || c == '(' || c == ')' || c == ']' || c == '}' || Character.isSurrogate(c)) {
+                    tokens[size++] = OTHER;
+                } else {
+                    tokens[size++] = c;
+                }
+            }
+            int p = 0;
+            while (p < size && tokens[p] >= 0 && (p + 1 >= size || tokens[p + 1] != QUANTIFIER)) {
+                p++;
+            }
+            if (p == size) {
+                literal = string(tokens, 0, size);
+                return;
+            }
+            int s = size;
+            while (s > p && tokens[s - 1] >= 0) {
+                s--;
+            }
+            prefix = string(tokens, 0, p);
+            suffix = string(tokens, s, size);
+            min = prefix.length() + suffix.length();
+        }
+
+        private static String string(int[] tokens, int from, int to) {
+            StringBuilder builder = new StringBuilder(to - from);
+            for (int i = from; i < to; i++) {
+                builder.append((char) tokens[i]);
+            }
+            return builder.toString();
+        }
+
+        /**
+         * Returns the index of the last character of the escape sequence
+         * starting at the given index, such as {@code \x41} or {@code
+         * \p{Lu}}, or -1 if the escape cannot be skipped reliably. Back
+         * references are not skipped, as their length depends on the number
+         * of groups in the expression.
+         */
+        private static int skipEscape(String body, int start) {
+            int i = start + 1;
+            char next = i + 1 < body.length() ? body.charAt(i + 1) : 0;
+            switch (body.charAt(i)) {
+                case 'x':
+                    return next == '{' ? body.indexOf('}', i) : skipDigits(body, i, 2, 16);
+                case 'u':
+                    return skipDigits(body, i, 4, 16);
+                case '0':
+                    int end = i;
+                    int count = next >= '0' && next <= '3' ? 3 : 2;
+                    while (end - i < count && end + 1 < body.length() && Character.digit(body.charAt(end + 1), 8) >= 0) {
+                        end++;
+                    }
+                    return end > i ? end : -1;
+                case 'c':
+                    return next != 0 ? i + 1 : -1;
+                case 'p':
+                case 'P':
+                    return next == '{' ? body.indexOf('}', i) : next != 0 ? i + 1 : -1;
+                case 'N':
+                    return next == '{' ? body.indexOf('}', i) : -1;
+                case 'k':
+                    return next == '<' ? body.indexOf('>', i) : -1;
+                case 'b':
+                    return next == '{' ? body.indexOf('}', i) : i;
+                default:
+                    return Character.isDigit(body.charAt(i)) ? -1 : i;
+            }
+        }
+
+        /**
+         * Returns the index of the last of the given number of digits
+         * following the given index, or -1 if there are not enough digits.
+         */
+        private static int skipDigits(String body, int start, int count, int radix) {
+            if (start + count >= body.length()) {
+                return -1;
+            }
+            for (int i = start + 1; i <= start + count; i++) {
+                if (Character.digit(body.charAt(i), radix) < 0) {
+                    return -1;
+                }
+            }
+            return start + count;
+        }
+
+        /**
+         * Returns the index of the closing bracket of the class starting at
+         * the given index, or -1 if the class uses nested classes or cannot
+         * be skipped reliably.
+         */
+        private static int skipClass(String body, int start) {
+            int i = start + 1;
+            if (i < body.length() && body.charAt(i) == '^') {
+                i++;
+            }
+            if (i < body.length() && body.charAt(i) == ']') {
+                i++;
+            }
+            for (; i < body.length(); i++) {
+                char c = body.charAt(i);
+                if (c == '\\') {
+                    i++;
+                } else if (c == '[') {
+                    return -1;
+                } else if (c == ']') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Analyzes expressions consisting of a single ASCII character class
+         * with an optional quantifier, returning true if successful.
+         */
+        private boolean analyzeCharset(String body) {
+            long[] set = new long[2];
+            int i;
+            if (body.startsWith("[")) {
+                int close = skipClass(body, 0);
+                if (close < 0 || body.charAt(1) == '^' || !addClass(set, body.substring(1, close))) {
+                    return false;
+                }
+                i = close + 1;
+            } else if (body.startsWith("\\") && body.length() >= 2) {
+                if (!addEscape(set, body.charAt(1), false)) {
+                    return false;
+                }
+                i = 2;
+            } else {
+                return false;
+            }
+            int[] bounds = quantifier(body.substring(i));
+            if (bounds == null) {
+                return false;
+            }
+            charset = set;
+            min = bounds[0];
+            max = bounds[1];
+            return true;
+        }
+
+        private static boolean addClass(long[] set, String content) {
+            if (content.contains("&&") || content.isEmpty()) {
+                return false;
+            }
+            for (int i = 0; i < content.length(); i++) {
+                char c = content.charAt(i);
+                if (c == '\\') {
+                    if (i + 1 >= content.length()) {
+                        return false;
+                    }
+                    char next = content.charAt(++i);
+                    if (Character.isLetterOrDigit(next)) {
+                        if (!addEscape(set, next, true)) {
+                            return false;
+                        }
+                        continue;
+                    }
+                    c = next;
+                }
+                if (i + 2 < content.length() && content.charAt(i + 1) == '-') {
+                    char upper = content.charAt(i + 2);
+                    i += 2;
+                    if (upper == '\\') {
+                        if (i + 1 >= content.length() || Character.isLetterOrDigit(content.charAt(i + 1))) {
+                            return false;
+                        }
+                        upper = content.charAt(++i);
+                    }
+                    if (upper < c || upper >= 128) {
+                        return false;
+                    }
+                    add(set, c, upper);
+                } else if (c < 128) {
+                    add(set, c, c);
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Adds the characters of an escape sequence such as {@code \d},
+         * returning false if the escape is unsupported.
+         */
+        private static boolean addEscape(long[] set, char c, boolean inClass) {
+            switch (c) {
+                case 'd':
+                    add(set, '0', '9');
+                    return true;
+                case 'w':
+                    add(set, 'a', 'z');
+                    add(set, 'A', 'Z');
+                    add(set, '0', '9');
+                    add(set, '_', '_');
+                    return true;
+                case 's':
+                    add(set, '\t', '\r');
+                    add(set, ' ', ' ');
+                    return true;
+                case 't':
+                    add(set, '\t', '\t');
+                    return true;
+                case 'n':
+                    add(set, '\n', '\n');
+                    return true;
+                default:
+                    if (!Character.isLetterOrDigit(c) && c < 128) {
+                        add(set, c, c);
+                        return true;
+                    }
+                    return false;
+            }
+        }
+
+        private static void add(long[] set, char from, char to) {
+            for (char c = from; c <= to; c++) {
+                set[c >> 6] |= 1L << c;
+            }
+        }
+
+        /**
+         * Returns the minimum and maximum bounds of a quantifier, or null if
+         * the string is not a single quantifier. Reluctant and possessive
+         * quantifiers are equivalent when the entire value must match.
+         */
+        private static int[] quantifier(String quantifier) {
+            if (quantifier.length() == 2 && (quantifier.charAt(1) == '?' || quantifier.charAt(1) == '+')
+                    && "?*+".indexOf(quantifier.charAt(0)) >= 0) {
+                quantifier = quantifier.substring(0, 1);
+            } else if (quantifier.endsWith("}?") || quantifier.endsWith("}+")) {
+                quantifier = quantifier.substring(0, quantifier.length() - 1);
+            }
+            switch (quantifier) {
+                case "": return new int[] {1, 1};
+                case "?": return new int[] {0, 1};
+                case "*": return new int[] {0, Integer.MAX_VALUE};
+                case "+": return new int[] {1, Integer.MAX_VALUE};
+            }
+            if (!quantifier.matches("\\{\\d{1,9}(,\\d{0,9})?}")) {
+                return null;
+            }
+            String[] parts = quantifier.substring(1, quantifier.length() - 1).split(",", -1);
+            int min = Integer.parseInt(parts[0]);
+            int max = parts.length == 1 ? min : parts[1].isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(parts[1]);
+            return min <= max ? new int[] {min, max} : null;
+        }
+
+    }
+
+}
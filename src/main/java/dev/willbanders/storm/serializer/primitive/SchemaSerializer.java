@@ -0,0 +1,466 @@
+package dev.willbanders.storm.serializer.primitive;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.BoundType;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
+import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.serializer.SerializationException;
+import dev.willbanders.storm.serializer.Serializer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Validates values against a JSON Schema, such as one exported with {@link
+ * Serializer#schema(Node)}, and deserializes them as with {@link
+ * AnySerializer}. Unlike {@link AnySerializer}, {@code null} is returned for
+ * {@link Node.Type#NULL} values if permitted by the schema.
+ *
+ * <p>The schema is compiled once into a list of checks for each keyword. The
+ * supported keywords are {@code type}, {@code enum}, {@code const}, the
+ * numeric bounds, {@code minLength}, {@code maxLength}, {@code pattern},
+ * {@code items}, {@code prefixItems}, {@code minItems}, {@code maxItems},
+ * {@code uniqueItems}, {@code properties}, {@code required}, {@code
+ * additionalProperties}, {@code propertyNames}, {@code minProperties}, {@code
+ * maxProperties}, {@code allOf}, {@code anyOf}, {@code oneOf}, and {@code
+ * not}. Annotations such as
+ * {@code title} and {@code description} are ignored. Other keywords, notably
+ * {@code $ref}, are rejected rather than silently weakening validation.</p>
+ *
+ * <p>As in JSON, a {@link Node.Type#CHARACTER} value is considered a string
+ * and a {@link Node.Type#INTEGER} value is considered a number. Patterns are
+ * compiled as Java regular expressions, except that {@code $} only matches at
+ * the end of the input as in ECMA-262.</p>
+ */
+public final class SchemaSerializer implements Serializer<Object> {
+
+    public static final SchemaSerializer INSTANCE = new SchemaSerializer(ImmutableMap.of());
+
+    private static final Set<String> ANNOTATIONS = ImmutableSet.of("$schema", "$id", "$comment",
+            "title", "description", "default", "examples", "deprecated", "readOnly", "writeOnly", "format");
+
+    private final Object source;
+    private final List<Check> checks;
+
+    private SchemaSerializer(Object source) {
+        this.source = source;
+        this.checks = ImmutableList.of();
+    }
+
+    private SchemaSerializer(Node schema) {
+        this.source = plain(schema);
+        this.checks = compile(schema);
+    }
+
+    @Override
+    public Object deserialize(Node node) throws SerializationException {
+        if (node.getType() == Node.Type.UNDEFINED) {
+            throw new SerializationException(node, "Expected a defined value.");
+        }
+        for (Check check : checks) {
+            check.check(node);
+        }
+        return node.getValue();
+    }
+
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(source);
+    }
+
+    /**
+     * Returns a new serializer validating values against the given schema,
+     * which must be an object or boolean.
+     *
+     * @throws IllegalArgumentException if the schema is invalid or uses an
+     *     unsupported keyword
+     */
+    public SchemaSerializer of(Node schema) {
+        return new SchemaSerializer(schema);
+    }
+
+    private static List<Check> compile(Node schema) {
+        if (schema.getType() == Node.Type.BOOLEAN) {
+            return (boolean) schema.getValue() ? ImmutableList.of() : ImmutableList.of(node -> {
+                throw new SerializationException(node, "Expected no value.");
+            });
+        }
+        Preconditions.checkArgument(schema.getType() == Node.Type.OBJECT, "Expected a schema object or boolean at %s.", schema.getPath());
+        List<Check> checks = Lists.newArrayList();
+        for (Map.Entry<String, Node> entry : schema.getMap().entrySet()) {
+            Node value = entry.getValue();
+            switch (entry.getKey()) {
+                case "type": checks.add(type(value)); break;
+                case "enum": checks.add(values(value.getList(), "Expected the value to be one of " + plain(value) + ".")); break;
+                case "const": checks.add(values(ImmutableList.of(value), "Expected the value to be " + plain(value) + ".")); break;
+                case "minimum": checks.add(bound(value, c -> c >= 0, "at least")); break;
+                case "exclusiveMinimum": checks.add(bound(value, c -> c > 0, "greater than")); break;
+                case "maximum": checks.add(bound(value, c -> c <= 0, "at most")); break;
+                case "exclusiveMaximum": checks.add(bound(value, c -> c < 0, "less than")); break;
+                case "minLength": checks.add(length(Range.atLeast(count(value)))); break;
+                case "maxLength": checks.add(length(Range.atMost(count(value)))); break;
+                case "pattern": checks.add(pattern(value)); break;
+                case "items": checks.add(items(schema, value)); break;
+                case "prefixItems": checks.add(prefixItems(value)); break;
+                case "minItems": checks.add(size(Node.Type.ARRAY, Range.atLeast(count(value)), "array")); break;
+                case "maxItems": checks.add(size(Node.Type.ARRAY, Range.atMost(count(value)), "array")); break;
+                case "uniqueItems": checks.add(uniqueItems(value)); break;
+                case "properties": checks.add(properties(value)); break;
+                case "required": checks.add(required(value)); break;
+                case "additionalProperties": checks.add(additionalProperties(schema, value)); break;
+                case "propertyNames": checks.add(propertyNames(value)); break;
+                case "minProperties": checks.add(size(Node.Type.OBJECT, Range.atLeast(count(value)), "object")); break;
+                case "maxProperties": checks.add(size(Node.Type.OBJECT, Range.atMost(count(value)), "object")); break;
+                case "allOf": checks.add(combination(value, c -> c == value.getList().size(), "all")); break;
+                case "anyOf": checks.add(combination(value, c -> c >= 1, "at least one")); break;
+                case "oneOf": checks.add(combination(value, c -> c == 1, "exactly one")); break;
+                case "not": checks.add(combination(value, c -> c == 0, "none")); break;
+                default: Preconditions.checkArgument(ANNOTATIONS.contains(entry.getKey()), "Unsupported schema keyword %s at %s.", entry.getKey(), value.getPath());
+            }
+        }
+        return ImmutableList.copyOf(checks);
+    }
+
+    private static Check type(Node schema) {
+        Set<Node.Type> types = EnumSet.noneOf(Node.Type.class);
+        List<Node> names = schema.getType() == Node.Type.ARRAY ? schema.getList() : ImmutableList.of(schema);
+        for (Node name : names) {
+            Preconditions.checkArgument(name.getType() == Node.Type.STRING, "Expected a type name at %s.", name.getPath());
+            switch ((String) name.getValue()) {
+                case "null": types.add(Node.Type.NULL); break;
+                case "boolean": types.add(Node.Type.BOOLEAN); break;
+                case "integer": types.add(Node.Type.INTEGER); break;
+                case "number": types.addAll(ImmutableList.of(Node.Type.INTEGER, Node.Type.DECIMAL)); break;
+                case "string": types.addAll(ImmutableList.of(Node.Type.CHARACTER, Node.Type.STRING)); break;
+                case "array": types.add(Node.Type.ARRAY); break;
+                case "object": types.add(Node.Type.OBJECT); break;
+                default: throw new IllegalArgumentException("Unknown type " + name.getValue() + " at " + name.getPath() + ".");
+            }
+        }
+        Object expected = plain(schema);
+        return node -> {
+            if (!types.contains(node.getType())) {
+                throw new SerializationException(node, "Expected a value of type " + expected + ".");
+            }
+        };
+    }
+
+    private static Check values(List<Node> values, String message) {
+        return node -> {
+            Node value = node;
+            if (node.getType() == Node.Type.CHARACTER) {
+                value = Node.root();
+                value.attach().setValue(node.getValue().toString());
+            }
+            if (!values.contains(value)) {
+                throw new SerializationException(node, message);
+            }
+        };
+    }
+
+    private static Check bound(Node schema, IntPredicate comparison, String description) {
+        BigDecimal bound = number(schema);
+        return node -> {
+            if (node.getType() == Node.Type.INTEGER || node.getType() == Node.Type.DECIMAL) {
+                if (!comparison.test(number(node).compareTo(bound))) {
+                    throw new SerializationException(node, "Expected value to be " + description + " " + bound + ".");
+                }
+            }
+        };
+    }
+
+    private static Check length(Range<Integer> length) {
+        return node -> {
+            if (node.getType() == Node.Type.CHARACTER) {
+                if (!length.contains(1)) {
+                    throw new SerializationException(node, "Expected the length of the string to be in range " + length + ".");
+                }
+            } else if (node.getType() == Node.Type.STRING) {
+                String value = (String) node.getValue();
+                if (!length.contains(value.codePointCount(0, value.length()))) {
+                    throw new SerializationException(node, "Expected the length of the string to be in range " + length + ".");
+                }
+            }
+        };
+    }
+
+    private static Check pattern(Node schema) {
+        Preconditions.checkArgument(schema.getType() == Node.Type.STRING, "Expected a pattern at %s.", schema.getPath());
+        Pattern pattern = Pattern.compile(anchors((String) schema.getValue()));
+        return node -> {
+            if (node.getType() == Node.Type.CHARACTER || node.getType() == Node.Type.STRING) {
+                if (!pattern.matcher(node.getValue().toString()).find()) {
+                    throw new SerializationException(node, "Expected string to match " + pattern + ".");
+                }
+            }
+        };
+    }
+
+    /**
+     * Replaces {@code $} outside of character classes with {@code \\z}. In
+     * JSON Schema (ECMA-262) patterns, {@code $} only matches at the end of
+     * the input, but in Java it also matches before a final line terminator.
+     */
+    private static String anchors(String pattern) {
+        StringBuilder builder = new StringBuilder(pattern.length() + 4);
+        boolean inClass = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < pattern.length()) {
+                builder.append(c).append(pattern.charAt(++i));
+            } else if (c == '$' && !inClass) {
+                builder.append("\\z");
+            } else {
+                inClass = c == '[' || inClass && c != ']';
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static Check items(Node parent, Node schema) {
+        Node prefix = parent.getMap().get("prefixItems");
+        int start = prefix != null && prefix.getType() == Node.Type.ARRAY ? prefix.getList().size() : 0;
+        SchemaSerializer items = new SchemaSerializer(schema);
+        return node -> {
+            if (node.getType() == Node.Type.ARRAY) {
+                List<Node> list = node.getList();
+                for (int i = start; i < list.size(); i++) {
+                    items.deserialize(list.get(i));
+                }
+            }
+        };
+    }
+
+    private static Check prefixItems(Node schema) {
+        List<SchemaSerializer> prefix = Lists.newArrayListWithCapacity(schema.getList().size());
+        for (Node element : schema.getList()) {
+            prefix.add(new SchemaSerializer(element));
+        }
+        return node -> {
+            if (node.getType() == Node.Type.ARRAY) {
+                List<Node> list = node.getList();
+                for (int i = 0; i < Math.min(prefix.size(), list.size()); i++) {
+                    prefix.get(i).deserialize(list.get(i));
+                }
+            }
+        };
+    }
+
+    private static Check size(Node.Type type, Range<Integer> size, String name) {
+        return node -> {
+            if (node.getType() == type && !size.contains(node.getChildren().size())) {
+                throw new SerializationException(node, "Expected the size of the " + name + " to be in range " + size + ".");
+            }
+        };
+    }
+
+    private static Check uniqueItems(Node schema) {
+        Preconditions.checkArgument(schema.getType() == Node.Type.BOOLEAN, "Expected a boolean at %s.", schema.getPath());
+        boolean unique = (boolean) schema.getValue();
+        return node -> {
+            if (unique && node.getType() == Node.Type.ARRAY) {
+                Set<Node> elements = Sets.newHashSetWithExpectedSize(node.getList().size());
+                for (Node element : node.getList()) {
+                    if (!elements.add(element)) {
+                        throw new SerializationException(element, "Expected array to contain unique elements.");
+                    }
+                }
+            }
+        };
+    }
+
+    private static Check properties(Node schema) {
+        Map<String, SchemaSerializer> properties = Maps.newLinkedHashMapWithExpectedSize(schema.getMap().size());
+        for (Map.Entry<String, Node> entry : schema.getMap().entrySet()) {
+            properties.put(entry.getKey(), new SchemaSerializer(entry.getValue()));
+        }
+        return node -> {
+            if (node.getType() == Node.Type.OBJECT) {
+                for (Map.Entry<String, SchemaSerializer> entry : properties.entrySet()) {
+                    Node child = node.getMap().get(entry.getKey());
+                    if (child != null) {
+                        entry.getValue().deserialize(child);
+                    }
+                }
+            }
+        };
+    }
+
+    private static Check required(Node schema) {
+        Set<String> required = Sets.newLinkedHashSet();
+        for (Node key : schema.getList()) {
+            Preconditions.checkArgument(key.getType() == Node.Type.STRING, "Expected a property name at %s.", key.getPath());
+            required.add((String) key.getValue());
+        }
+        return node -> {
+            if (node.getType() == Node.Type.OBJECT && !node.getMap().keySet().containsAll(required)) {
+                Set<String> missing = Sets.difference(required, node.getMap().keySet());
+                throw new SerializationException(node, "Missing required properties " + missing + ".");
+            }
+        };
+    }
+
+    private static Check additionalProperties(Node parent, Node schema) {
+        Node properties = parent.getMap().get("properties");
+        Set<String> known = properties != null && properties.getType() == Node.Type.OBJECT
+                ? ImmutableSet.copyOf(properties.getMap().keySet())
+                : ImmutableSet.of();
+        SchemaSerializer additional = new SchemaSerializer(schema);
+        boolean allowed = schema.getType() != Node.Type.BOOLEAN || (boolean) schema.getValue();
+        return node -> {
+            if (node.getType() == Node.Type.OBJECT) {
+                for (Map.Entry<String, Node> entry : node.getMap().entrySet()) {
+                    if (!known.contains(entry.getKey())) {
+                        if (!allowed) {
+                            throw new SerializationException(entry.getValue(), "Unexpected property " + entry.getKey() + ".");
+                        }
+                        additional.deserialize(entry.getValue());
+                    }
+                }
+            }
+        };
+    }
+
+    private static Check propertyNames(Node schema) {
+        SchemaSerializer names = new SchemaSerializer(schema);
+        return node -> {
+            if (node.getType() == Node.Type.OBJECT) {
+                for (Map.Entry<String, Node> entry : node.getMap().entrySet()) {
+                    Node name = Node.root();
+                    name.attach().setValue(entry.getKey());
+                    try {
+                        names.deserialize(name);
+                    } catch (SerializationException e) {
+                        throw new SerializationException(entry.getValue(), "Invalid property name " + entry.getKey() + ". " + e.getMessage());
+                    }
+                }
+            }
+        };
+    }
+
+    private static Check combination(Node schema, IntPredicate matches, String description) {
+        List<SchemaSerializer> schemas = Lists.newArrayList();
+        for (Node element : schema.getType() == Node.Type.ARRAY ? schema.getList() : ImmutableList.of(schema)) {
+            schemas.add(new SchemaSerializer(element));
+        }
+        String keyword = (String) schema.getKey();
+        return node -> {
+            int count = 0;
+            for (SchemaSerializer element : schemas) {
+                try {
+                    element.deserialize(node);
+                    count++;
+                } catch (SerializationException ignored) {}
+            }
+            if (!matches.test(count)) {
+                throw new SerializationException(node, "Expected the value to match " + description + " of the schemas in " + keyword + ".");
+            }
+        };
+    }
+
+    private static BigDecimal number(Node node) {
+        Preconditions.checkArgument(node.getType() == Node.Type.INTEGER || node.getType() == Node.Type.DECIMAL, "Expected a number at %s.", node.getPath());
+        return node.getType() == Node.Type.INTEGER ? new BigDecimal((BigInteger) node.getValue()) : (BigDecimal) node.getValue();
+    }
+
+    private static int count(Node node) {
+        Preconditions.checkArgument(node.getType() == Node.Type.INTEGER && ((BigInteger) node.getValue()).signum() >= 0, "Expected a non-negative integer at %s.", node.getPath());
+        return ((BigInteger) node.getValue()).intValueExact();
+    }
+
+    /**
+     * Returns the value of the node as plain lists, maps, and values supported
+     * by {@link Node#setValue(Object)}.
+     */
+    private static Object plain(Node node) {
+        if (node.getType() == Node.Type.ARRAY) {
+            List<Object> list = Lists.newArrayListWithCapacity(node.getList().size());
+            for (Node element : node.getList()) {
+                list.add(plain(element));
+            }
+            return list;
+        } else if (node.getType() == Node.Type.OBJECT) {
+            Map<String, Object> map = Maps.newLinkedHashMapWithExpectedSize(node.getMap().size());
+            for (Map.Entry<String, Node> entry : node.getMap().entrySet()) {
+                map.put(entry.getKey(), plain(entry.getValue()));
+            }
+            return map;
+        }
+        return node.getValue();
+    }
+
+    /**
+     * Writes the bounds of a numeric range to the given schema node using the
+     * {@code minimum}, {@code exclusiveMinimum}, {@code maximum}, and {@code
+     * exclusiveMaximum} keywords.
+     */
+    static void bounds(Node node, Range<?> range) {
+        if (range.hasLowerBound()) {
+            String keyword = range.lowerBoundType() == BoundType.CLOSED ? "minimum" : "exclusiveMinimum";
+            node.resolve(keyword).attach().setValue(number(range.lowerEndpoint()));
+        }
+        if (range.hasUpperBound()) {
+            String keyword = range.upperBoundType() == BoundType.CLOSED ? "maximum" : "exclusiveMaximum";
+            node.resolve(keyword).attach().setValue(number(range.upperEndpoint()));
+        }
+    }
+
+    private static Object number(Object value) {
+        if (value instanceof BigInteger || value instanceof BigDecimal) {
+            return value;
+        }
+        return value instanceof Float || value instanceof Double ? new BigDecimal(value.toString()) : new BigInteger(value.toString());
+    }
+
+    /**
+     * Writes the bounds of a size range to the given schema node using the
+     * given keywords, such as {@code minItems} and {@code maxItems}.
+     */
+    static void size(Node node, Range<Integer> size, String min, String max) {
+        if (size.hasLowerBound()) {
+            int lower = size.lowerBoundType() == BoundType.CLOSED ? size.lowerEndpoint() : size.lowerEndpoint() + 1;
+            if (lower > 0) {
+                node.resolve(min).attach().setValue(BigInteger.valueOf(lower));
+            }
+        }
+        if (size.hasUpperBound()) {
+            int upper = size.upperBoundType() == BoundType.CLOSED ? size.upperEndpoint() : size.upperEndpoint() - 1;
+            node.resolve(max).attach().setValue(BigInteger.valueOf(upper));
+        }
+    }
+
+    /**
+     * Writes a pattern to the given schema node. JSON Schema patterns are not
+     * implicitly anchored, so the pattern is anchored to match the behavior
+     * of {@link java.util.regex.Matcher#matches()}. Patterns compiled with
+     * flags, such as {@link Pattern#CASE_INSENSITIVE}, are omitted since the
+     * flags cannot be expressed and the schema would be stricter than the
+     * pattern.
+     */
+    static void pattern(Node node, Pattern pattern) {
+        if (pattern != null && pattern.flags() == 0) {
+            node.resolve("pattern").attach().setValue("^(?:" + pattern.pattern() + ")$");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Check {
+
+        void check(Node node) throws SerializationException;
+
+    }
+
+}
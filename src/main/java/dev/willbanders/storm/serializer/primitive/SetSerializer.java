@@ -1,7 +1,7 @@
 package dev.willbanders.storm.serializer.primitive;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Range;
 import com.google.common.collect.Sets;
 import dev.willbanders.storm.config.Node;
@@ -9,43 +9,71 @@ import dev.willbanders.storm.serializer.SerializationException;
 import dev.willbanders.storm.serializer.Serializer;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.function.IntFunction;
 
 /**
  * Serializes a {@link Node.Type#ARRAY} value into a {@link Set} of {@link T}.
  * Values in the array must be distinct. A {@link Range} may be provided to
  * require the size of the set to be contained within a range.
+ *
+ * <p>By default, sets are deserialized into a {@link java.util.LinkedHashSet}
+ * to preserve the order of the array. A factory may be provided to use another
+ * set implementation, such as a {@link java.util.TreeSet}, which is given the
+ * size of the array and determines which elements are considered duplicates.
+ * </p>
  */
 public final class SetSerializer<T> implements Serializer<Set<T>> {
 
-    public static final SetSerializer<Object> INSTANCE = new SetSerializer<>(NullableSerializer.INSTANCE, Range.all());
+    public static final SetSerializer<Object> INSTANCE = new SetSerializer<>(NullableSerializer.INSTANCE, Range.all(), Sets::newLinkedHashSetWithExpectedSize);
 
     private final Serializer<T> serializer;
+    private final Range<Integer> size;
+    private final IntFunction<? extends Set<T>> factory;
     private final Serializer<List<T>> delegate;
 
-    private SetSerializer(Serializer<T> serializer, Range<Integer> size) {
+    private SetSerializer(Serializer<T> serializer, Range<Integer> size, IntFunction<? extends Set<T>> factory) {
         this.serializer = serializer;
+        this.size = size;
+        this.factory = factory;
         this.delegate = ListSerializer.INSTANCE.of(serializer).size(size);
     }
 
     @Override
     public Set<T> deserialize(Node node) throws SerializationException {
-        List<T> list = node.get(delegate);
-        Set<T> value = Sets.newLinkedHashSet(list);
-        if (value.size() != list.size()) {
-            Map<T, Integer> map = Maps.newHashMap();
-            for (int i = 0; i < list.size(); i++) {
-                if (map.containsKey(list.get(i))) {
-                    throw new SerializationException(node, "Expected set to contain unique elements, " +
-                            "found duplicates at indices " + map.get(list.get(i)) + " and " + i + ".");
-                }
-                map.put(list.get(i), i);
+        if (node.getType() != Node.Type.ARRAY) {
+            throw new SerializationException(node, "Expected a value of type array.");
+        } else if (!size.contains(node.getList().size())) {
+            throw new SerializationException(node, "Expected the size of the set to be in range " + size + ".");
+        }
+        List<Node> list = node.getList();
+        Set<T> value = factory.apply(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            T element = serializer.deserialize(list.get(i));
+            if (!value.add(element)) {
+                throw new SerializationException(node, "Expected set to contain unique elements, " +
+                        "found duplicates at indices " + previous(list, element) + " and " + i + ".");
             }
         }
         return value;
     }
 
+    /**
+     * Returns the index of the first element equal to the given element, as
+     * determined by a set from the factory. This is only used for reporting
+     * duplicates, and thus elements are deserialized again rather than
+     * tracking indices for every element.
+     */
+    private int previous(List<Node> list, T element) throws SerializationException {
+        for (int i = 0; ; i++) {
+            Set<T> set = factory.apply(2);
+            set.add(serializer.deserialize(list.get(i)));
+            if (!set.add(element)) {
+                return i;
+            }
+        }
+    }
+
     @Override
     public void reserialize(Node node, Set<T> value) throws SerializationException {
         if (value == null) {
@@ -54,12 +82,20 @@ public final class SetSerializer<T> implements Serializer<Set<T>> {
         node.set(Lists.newArrayList(value), delegate);
     }
 
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of("type", "array"));
+        serializer.schema(node.resolve("items"));
+        node.resolve("uniqueItems").attach().setValue(true);
+        SchemaSerializer.size(node, size, "minItems", "maxItems");
+    }
+
     /**
      * Returns a new SetSerializer that delegates to the given serializer for
      * serializing elements.
      */
     public <T> SetSerializer<T> of(Serializer<T> serializer) {
-        return new SetSerializer<>(serializer, Range.all());
+        return new SetSerializer<>(serializer, Range.all(), Sets::newLinkedHashSetWithExpectedSize);
     }
 
     /**
@@ -67,7 +103,16 @@ public final class SetSerializer<T> implements Serializer<Set<T>> {
      * within the given range.
      */
     public SetSerializer<T> size(Range<Integer> size) {
-        return new SetSerializer<>(serializer, size);
+        return new SetSerializer<>(serializer, size, factory);
+    }
+
+    /**
+     * Returns a new serializer which deserializes into sets created by the
+     * given factory, which is given the size of the array. For example,
+     * {@code Sets::newHashSetWithExpectedSize} for an unordered set.
+     */
+    public SetSerializer<T> factory(IntFunction<? extends Set<T>> factory) {
+        return new SetSerializer<>(serializer, size, factory);
     }
 
 }
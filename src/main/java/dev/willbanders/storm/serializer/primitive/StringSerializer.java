@@ -1,6 +1,10 @@
 package dev.willbanders.storm.serializer.primitive;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Interner;
 import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.config.StringPool;
 import dev.willbanders.storm.serializer.SerializationException;
 import dev.willbanders.storm.serializer.Serializer;
 
@@ -8,16 +12,19 @@ import java.util.regex.Pattern;
 
 /**
  * Serializes a {@link Node.Type#STRING} value. A {@link Pattern} may be
- * provided to require the value to match a regular expression.
+ * provided to require the value to match a regular expression, and an {@link
+ * Interner} may be provided to deduplicate deserialized values.
  */
 public final class StringSerializer implements Serializer<String> {
 
-    public static final StringSerializer INSTANCE = new StringSerializer(null);
+    public static final StringSerializer INSTANCE = new StringSerializer(null, null);
 
-    private final Pattern pattern;
+    private final Regex regex;
+    private final Interner<String> interner;
 
-    private StringSerializer(Pattern pattern) {
-        this.pattern = pattern;
+    private StringSerializer(Regex regex, Interner<String> interner) {
+        this.regex = regex;
+        this.interner = interner;
     }
 
     @Override
@@ -26,29 +33,36 @@ public final class StringSerializer implements Serializer<String> {
             throw new SerializationException(node, "Expected a string value.");
         }
         String value = (String) node.getValue();
-        if (pattern != null && !pattern.matcher(value).matches()) {
-            throw new SerializationException(node, "Expected string to match " + pattern + ".");
+        if (regex != null && !regex.matches(value)) {
+            throw new SerializationException(node, "Expected string to match " + regex + ".");
         }
-        return value;
+        return interner != null ? interner.intern(value) : value;
     }
 
     @Override
     public void reserialize(Node node, String value) throws SerializationException {
         if (value == null) {
             throw new SerializationException(node, "Expected a non-null value.");
-        } else if (pattern != null && !pattern.matcher(value).matches()) {
-            throw new SerializationException(node, "Expected string to match " + pattern + ".");
+        } else if (regex != null && !regex.matches(value)) {
+            throw new SerializationException(node, "Expected string to match " + regex + ".");
         }
         node.attach().setValue(value);
     }
 
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of("type", "string"));
+        SchemaSerializer.pattern(node, regex != null ? regex.getPattern() : null);
+    }
+
     /**
      * Returns a new serializer requiring the value to match the given regular
      * expression, provided as a String and compiled using {@link
      * Pattern#compile(String)}.
+     * Compiled expressions are cached and shared between serializers.
      */
     public StringSerializer matches(String regex) {
-        return matches(Pattern.compile(regex));
+        return new StringSerializer(Regex.of(regex), interner);
     }
 
     /**
@@ -56,7 +70,25 @@ public final class StringSerializer implements Serializer<String> {
      * expression, provided as a {@link Pattern}.
      */
     public StringSerializer matches(Pattern pattern) {
-        return new StringSerializer(pattern);
+        return new StringSerializer(Regex.of(pattern), interner);
+    }
+
+    /**
+     * Returns a new serializer which interns deserialized values using {@link
+     * StringPool#SHARED}, which is bounded and weakly referenced. This is
+     * intended for values repeated throughout many configs, such as hostnames
+     * or tags, which are retained after deserialization.
+     */
+    public StringSerializer interned() {
+        return interned(StringPool.SHARED);
+    }
+
+    /**
+     * Returns a new serializer which interns deserialized values using the
+     * given interner.
+     */
+    public StringSerializer interned(Interner<String> interner) {
+        return new StringSerializer(regex, Preconditions.checkNotNull(interner));
     }
 
 }
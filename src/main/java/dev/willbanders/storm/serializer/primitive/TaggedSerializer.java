@@ -0,0 +1,121 @@
+package dev.willbanders.storm.serializer.primitive;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.serializer.SerializationException;
+import dev.willbanders.storm.serializer.Serializer;
+
+import java.util.Map;
+
+/**
+ * Serializes a {@link Node.Type#OBJECT} value into an instance of a subtype of
+ * {@link T}, selected by the value of a tag property as in {@code {type =
+ * "http", url = "..."}}. Subtypes are registered with {@link
+ * #subtype(String, Class)}, which uses {@link ClassSerializer} to bind the
+ * remaining properties to the fields of the subclass.
+ *
+ * <p>The serializer for each subtype is created once when it is registered,
+ * and the tag is found with a single hash lookup. Reserialization selects the
+ * tag by the exact class of the value and writes the tag before the other
+ * properties.</p>
+ */
+public final class TaggedSerializer<T> implements Serializer<T> {
+
+    public static final TaggedSerializer<Object> INSTANCE = new TaggedSerializer<>("type", ImmutableMap.of(), ImmutableMap.of());
+
+    private final String property;
+    private final Map<String, Serializer<? extends T>> subtypes;
+    private final Map<Class<?>, String> tags;
+
+    private TaggedSerializer(String property, Map<String, Serializer<? extends T>> subtypes, Map<Class<?>, String> tags) {
+        this.property = property;
+        this.subtypes = subtypes;
+        this.tags = tags;
+    }
+
+    @Override
+    public T deserialize(Node node) throws SerializationException {
+        if (node.getType() != Node.Type.OBJECT) {
+            throw new SerializationException(node, "Expected an object value.");
+        }
+        Node tag = node.getMap().get(property);
+        if (tag == null) {
+            throw new SerializationException(node, "Expected a tag property " + property + ".");
+        }
+        Serializer<? extends T> serializer = subtypes.get(tag.get(StringSerializer.INSTANCE));
+        if (serializer == null) {
+            throw new SerializationException(tag, "Expected the tag to be one of " + subtypes.keySet() + ".");
+        }
+        return node.get(serializer);
+    }
+
+    @Override
+    public void reserialize(Node node, T value) throws SerializationException {
+        if (value == null) {
+            throw new SerializationException(node, "Expected a non-null value.");
+        }
+        String tag = tags.get(value.getClass());
+        if (tag == null) {
+            throw new SerializationException(node, "Expected the value to have class in " + tags.keySet() + ", received " + value.getClass().getName() + ".");
+        }
+        Node previous = node.getType() == Node.Type.OBJECT ? node.getMap().get(property) : null;
+        if (previous == null || !tag.equals(previous.getValue())) {
+            node.attach().setValue(ImmutableMap.of(property, tag));
+        }
+        node.set(value, (Serializer<T>) subtypes.get(tag));
+    }
+
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of("type", "object", "required", ImmutableList.of(property), "oneOf", ImmutableList.of()));
+        int i = 0;
+        for (Map.Entry<String, Serializer<? extends T>> entry : subtypes.entrySet()) {
+            Node subtype = node.resolve("oneOf", i++);
+            entry.getValue().schema(subtype);
+            if (subtype.getType() == Node.Type.OBJECT) {
+                subtype.resolve("properties", property).attach().setValue(ImmutableMap.of("const", entry.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Returns a new serializer using the given property for the tag, which
+     * is {@code type} by default.
+     */
+    public <T> TaggedSerializer<T> of(String property) {
+        return new TaggedSerializer<>(property, ImmutableMap.of(), ImmutableMap.of());
+    }
+
+    /**
+     * Returns a new serializer which deserializes values with the given tag
+     * into instances of the given class using {@link ClassSerializer}. For
+     * field-based serialization, the tag property is not bound to a field.
+     *
+     * @throws IllegalArgumentException if the tag or class is already
+     *     registered, or if the class is not serializable as defined by
+     *     {@link ClassSerializer#of(Class)}
+     */
+    public <V extends T> TaggedSerializer<T> subtype(String tag, Class<V> clazz) {
+        return subtype(tag, clazz, ((ClassSerializer<V>) ClassSerializer.INSTANCE.of(clazz)).ignoring(property));
+    }
+
+    /**
+     * Returns a new serializer which deserializes values with the given tag
+     * using the given serializer, and reserializes values of exactly the
+     * given class with the given tag. The serializer is given the entire
+     * node, including the tag property.
+     *
+     * @throws IllegalArgumentException if the tag or class is already
+     *     registered
+     */
+    public <V extends T> TaggedSerializer<T> subtype(String tag, Class<V> clazz, Serializer<V> serializer) {
+        Preconditions.checkArgument(!subtypes.containsKey(tag), "A subtype is already registered for tag %s.", tag);
+        Preconditions.checkArgument(!tags.containsKey(clazz), "A subtype is already registered for %s.", clazz);
+        return new TaggedSerializer<>(property,
+                ImmutableMap.<String, Serializer<? extends T>>builder().putAll(subtypes).put(tag, serializer).build(),
+                ImmutableMap.<Class<?>, String>builder().putAll(tags).put(clazz, tag).build());
+    }
+
+}
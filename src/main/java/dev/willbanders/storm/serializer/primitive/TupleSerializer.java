@@ -1,13 +1,14 @@
 package dev.willbanders.storm.serializer.primitive;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.serializer.SerializationException;
 import dev.willbanders.storm.serializer.Serializer;
 
+import java.math.BigInteger;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Serializes a {@link Node.Type#ARRAY} value into a {@link List} of {@link T}.
@@ -31,9 +32,11 @@ public final class TupleSerializer<T> implements Serializer<List<T>> {
         } else if (node.getList().size() != serializers.size()) {
             throw new SerializationException(node, "Expected an array with size " + serializers.size() + ".");
         }
-        return IntStream.range(0, serializers.size())
-                .mapToObj(i -> node.resolve(i).get(serializers.get(i)))
-                .collect(Collectors.toList());
+        List<T> list = Lists.newArrayListWithCapacity(serializers.size());
+        for (int i = 0; i < serializers.size(); i++) {
+            list.add(node.getList().get(i).get(serializers.get(i)));
+        }
+        return list;
     }
 
     @Override
@@ -44,9 +47,7 @@ public final class TupleSerializer<T> implements Serializer<List<T>> {
             throw new SerializationException(node, "Expected a list with size " + serializers.size() + ".");
         }
         if (node.getType() == Node.Type.ARRAY) {
-            for (int i = node.getList().size(); i > value.size(); i--) {
-                node.resolve(i - 1).detach();
-            }
+            node.truncate(value.size());
         } else {
             node.attach().setValue(Lists.newArrayList());
         }
@@ -59,6 +60,15 @@ public final class TupleSerializer<T> implements Serializer<List<T>> {
         }
     }
 
+    @Override
+    public void schema(Node node) {
+        BigInteger size = BigInteger.valueOf(serializers.size());
+        node.attach().setValue(ImmutableMap.of("type", "array", "prefixItems", ImmutableList.of(), "items", false, "minItems", size, "maxItems", size));
+        for (int i = 0; i < serializers.size(); i++) {
+            serializers.get(i).schema(node.resolve("prefixItems", i));
+        }
+    }
+
     /**
      * Returns a new serializer that delegates serialization of each tuple
      * element to the given serializers at the corresponding index.
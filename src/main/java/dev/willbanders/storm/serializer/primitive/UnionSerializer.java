@@ -1,25 +1,48 @@
 package dev.willbanders.storm.serializer.primitive;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import dev.willbanders.storm.config.Node;
 import dev.willbanders.storm.serializer.SerializationException;
 import dev.willbanders.storm.serializer.Serializer;
 
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Serializes values by delegating to a serializer based on the type of the
- * node. Reserialization is not currently supported as it is incredibly
- * difficult to determine what serializer should be delegated to.
+ * node. Since the type of the node cannot be determined from a value,
+ * reserialization delegates to a serializer based on the class of the value
+ * as registered with {@link #reserializer(Class, Serializer)}.
+ *
+ * <p>Reserializers are matched in the order they are registered, and thus
+ * more specific classes should be registered before their superclasses. The
+ * match for each class is cached, so dispatching does not depend on the
+ * number of reserializers after the first value of that class.</p>
  */
 public final class UnionSerializer<T> implements Serializer<T> {
 
-    public static final UnionSerializer<Object> INSTANCE = new UnionSerializer<>(Maps.newHashMap());
+    public static final UnionSerializer<Object> INSTANCE = new UnionSerializer<>(Maps.newHashMap(), ImmutableMap.of());
 
     private final Map<Node.Type, Serializer<? extends T>> deserializers;
+    private final Map<Class<?>, Serializer<?>> reserializers;
+    private final ClassValue<Optional<Serializer<T>>> dispatch = new ClassValue<Optional<Serializer<T>>>() {
 
-    private UnionSerializer(Map<Node.Type, Serializer<? extends T>> deserializers) {
+        @Override
+        protected Optional<Serializer<T>> computeValue(Class<?> type) {
+            return reserializers.entrySet().stream()
+                    .filter(e -> e.getKey().isAssignableFrom(type))
+                    .map(e -> (Serializer<T>) e.getValue())
+                    .findFirst();
+        }
+
+    };
+
+    private UnionSerializer(Map<Node.Type, Serializer<? extends T>> deserializers, Map<Class<?>, Serializer<?>> reserializers) {
         this.deserializers = deserializers;
+        this.reserializers = reserializers;
     }
 
     @Override
@@ -30,11 +53,97 @@ public final class UnionSerializer<T> implements Serializer<T> {
         return node.get(deserializers.get(node.getType()));
     }
 
+    /**
+     * Reserializes the value using the first reserializer registered for a
+     * superclass of the value's class. A {@code null} value is reserialized
+     * using the deserializer for {@link Node.Type#NULL}, if one exists. The
+     * resulting type of the node must be supported for deserialization to
+     * ensure the value can be deserialized again. The value is reserialized
+     * in place, and if this fails the previous value and comments of the node
+     * are restored.
+     */
+    @Override
+    public void reserialize(Node node, T value) throws SerializationException {
+        Serializer<T> serializer;
+        if (value == null) {
+            serializer = (Serializer<T>) deserializers.get(Node.Type.NULL);
+            if (serializer == null) {
+                throw new SerializationException(node, "Expected a non-null value.");
+            }
+        } else {
+            serializer = dispatch.get(value.getClass()).orElseThrow(() -> new SerializationException(node,
+                    "Expected the value to have class in " + reserializers.keySet() + ", received " + value.getClass().getName() + "."));
+        }
+        Node previous = node.copy();
+        try {
+            node.set(value, serializer);
+        } catch (RuntimeException e) {
+            restore(node, previous);
+            throw e;
+        }
+        if (!deserializers.containsKey(node.getType())) {
+            Node.Type type = node.getType();
+            restore(node, previous);
+            throw new SerializationException(node, "Expected the reserialized value to have type in " + deserializers.keySet() + ", received " + type + ".");
+        }
+    }
+
+    /**
+     * Restores the value and comments of the node from a copy of its previous
+     * state, detaching the node if it was previously unattached.
+     */
+    private static void restore(Node node, Node previous) {
+        if (previous.getType() == Node.Type.UNDEFINED) {
+            node.detach();
+        } else {
+            node.attach().setValue(previous.getValue());
+            comments(previous, node);
+        }
+    }
+
+    /**
+     * Copies the comments of the source node and its descendants to the
+     * corresponding nodes of the target, which has the same value.
+     */
+    private static void comments(Node source, Node target) {
+        target.setComment(source.getComment());
+        if (source.getType() == Node.Type.ARRAY || source.getType() == Node.Type.OBJECT) {
+            for (Node child : source.getChildren()) {
+                comments(child, target.resolve(child.getKey()));
+            }
+        }
+    }
+
+    @Override
+    public void schema(Node node) {
+        node.attach().setValue(ImmutableMap.of("anyOf", ImmutableList.of()));
+        for (Node.Type type : Node.Type.values()) {
+            if (deserializers.containsKey(type)) {
+                deserializers.get(type).schema(node.resolve("anyOf", node.resolve("anyOf").getList().size()));
+            }
+        }
+    }
+
     /**
      * Returns a new serializer using the given map of serializers.
      */
     public <T> UnionSerializer<T> of(Map<Node.Type, Serializer<? extends T>> deserializers) {
-        return new UnionSerializer<>(deserializers);
+        return new UnionSerializer<>(deserializers, ImmutableMap.of());
+    }
+
+    /**
+     * Returns a new serializer which reserializes values of the given class,
+     * including subclasses, using the given serializer. This has lower
+     * precedence than all previously registered classes.
+     *
+     * @throws IllegalArgumentException if the class is already registered
+     */
+    public <V extends T> UnionSerializer<T> reserializer(Class<V> clazz, Serializer<? super V> serializer) {
+        Preconditions.checkArgument(!reserializers.containsKey(clazz), "A reserializer is already registered for %s.", clazz);
+        return new UnionSerializer<>(deserializers, ImmutableMap.<Class<?>, Serializer<?>>builder()
+                .putAll(reserializers)
+                .put(clazz, serializer)
+                .build());
     }
 
 }
@@ -0,0 +1,89 @@
+package dev.willbanders.storm.config;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class DiffTests {
+
+    @ParameterizedTest
+    @MethodSource
+    void testBetween(String test, Object previous, Object current, List<String> expected) {
+        List<String> changes = Diff.between(node(previous), node(current)).stream()
+                .map(Diff.Change::toString)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(expected, changes);
+    }
+
+    private static Stream<Arguments> testBetween() {
+        return Stream.of(
+                Arguments.of("Equal", ImmutableMap.of("x", ImmutableList.of(1, 2)), ImmutableMap.of("x", ImmutableList.of(1, 2)), ImmutableList.of()),
+                Arguments.of("Changed", "a", "b", ImmutableList.of("CHANGED []")),
+                Arguments.of("Type", "a", ImmutableList.of("a"), ImmutableList.of("CHANGED []")),
+                Arguments.of("Added", ImmutableMap.of("x", 1), ImmutableMap.of("x", 1, "y", 2), ImmutableList.of("ADDED [y]")),
+                Arguments.of("Removed", ImmutableMap.of("x", 1, "y", 2), ImmutableMap.of("x", 1), ImmutableList.of("REMOVED [y]")),
+                Arguments.of("Nested", ImmutableMap.of("x", ImmutableMap.of("y", 1, "z", 2)), ImmutableMap.of("x", ImmutableMap.of("y", 1, "z", 3)), ImmutableList.of("CHANGED [x, z]")),
+                Arguments.of("Array Append", ImmutableList.of(1, 2), ImmutableList.of(1, 2, 3), ImmutableList.of("ADDED [2]")),
+                Arguments.of("Array Truncate", ImmutableList.of(1, 2, 3), ImmutableList.of(1), ImmutableList.of("REMOVED [1]", "REMOVED [2]")),
+                Arguments.of("Array Element", ImmutableList.of(1, ImmutableMap.of("x", 1)), ImmutableList.of(1, ImmutableMap.of("x", 2)), ImmutableList.of("CHANGED [1, x]")),
+                Arguments.of("Array Swap", ImmutableList.of(1, 2, 3), ImmutableList.of(1, 3, 2), ImmutableList.of("MOVED [1] -> [2]", "MOVED [2] -> [1]")),
+                Arguments.of("Array Insert", ImmutableList.of("a", "b"), ImmutableList.of("c", "a", "b"), ImmutableList.of("MOVED [0] -> [1]", "MOVED [1] -> [2]", "ADDED [0]")),
+                Arguments.of("Array Remove", ImmutableList.of("a", "b", "c"), ImmutableList.of("b", "c"), ImmutableList.of("MOVED [1] -> [0]", "MOVED [2] -> [1]", "REMOVED [0]")),
+                Arguments.of("Array Duplicates", ImmutableList.of("a", "a"), ImmutableList.of("b", "a", "a"), ImmutableList.of("MOVED [0] -> [2]", "ADDED [0]"))
+        );
+    }
+
+    @Test
+    void testComments() {
+        Node previous = node(ImmutableMap.of("x", 1));
+        Node current = node(ImmutableMap.of("x", 1));
+        current.resolve("x").setComment("comment");
+        Assertions.assertEquals(ImmutableList.of(), Diff.between(previous, current));
+    }
+
+    @Test
+    void testChange() {
+        Node previous = node(ImmutableMap.of("x", ImmutableList.of("a", "b")));
+        Node current = node(ImmutableMap.of("x", ImmutableList.of("b")));
+        List<Diff.Change> changes = Diff.between(previous, current);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(Diff.Kind.MOVED, changes.get(0).getKind()),
+                () -> Assertions.assertEquals(ImmutableList.of("x", 1), changes.get(0).getFrom()),
+                () -> Assertions.assertEquals(ImmutableList.of("x", 0), changes.get(0).getPath()),
+                () -> Assertions.assertEquals(Diff.Kind.REMOVED, changes.get(1).getKind()),
+                () -> Assertions.assertEquals("a", changes.get(1).getPrevious().getValue()),
+                () -> Assertions.assertEquals(Node.Type.UNDEFINED, changes.get(1).getCurrent().getType())
+        );
+    }
+
+    private static Node node(Object value) {
+        Node root = Node.root();
+        root.attach().setValue(convert(value));
+        return root;
+    }
+
+    private static Object convert(Object value) {
+        if (value instanceof Integer) {
+            return BigInteger.valueOf((Integer) value);
+        } else if (value instanceof List) {
+            return ((List<?>) value).stream().map(DiffTests::convert).collect(Collectors.toList());
+        } else if (value instanceof Map) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> map.put(k, convert(v)));
+            return map;
+        }
+        return value;
+    }
+
+}
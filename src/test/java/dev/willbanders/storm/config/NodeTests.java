@@ -13,6 +13,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -355,4 +356,298 @@ class NodeTests {
 
     }
 
+    @Nested
+    class InsertTests {
+
+        @Test
+        void testInsert() {
+            root.attach().setValue(ImmutableList.of("a", "d"));
+            Node last = root.resolve(1);
+            root.insert(1, "b", "c");
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(ImmutableList.of("a", "b", "c", "d"), root.getValue()),
+                    () -> Assertions.assertEquals(2, root.resolve(2).getKey()),
+                    () -> Assertions.assertEquals(3, last.getKey())
+            );
+        }
+
+        @Test
+        void testInsertEnd() {
+            root.attach().setValue(ImmutableList.of("a"));
+            root.insert(1, "b");
+            Assertions.assertEquals(ImmutableList.of("a", "b"), root.getValue());
+        }
+
+        @Test
+        void testInsertOutOfBounds() {
+            root.attach().setValue(ImmutableList.of("a"));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> root.insert(2, "b"));
+        }
+
+        @Test
+        void testInsertNonArray() {
+            root.attach();
+            Assertions.assertThrows(IllegalStateException.class, () -> root.insert(0, "a"));
+        }
+
+    }
+
+    @Nested
+    class RemoveRangeTests {
+
+        @Test
+        void testRemoveRange() {
+            root.attach().setValue(ImmutableList.of("a", "b", "c", "d"));
+            Node removed = root.resolve(1);
+            Node last = root.resolve(3);
+            root.removeRange(1, 3);
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(ImmutableList.of("a", "d"), root.getValue()),
+                    () -> Assertions.assertEquals(Node.Type.UNDEFINED, removed.getType()),
+                    () -> Assertions.assertEquals(1, last.getKey()),
+                    () -> Assertions.assertEquals(ImmutableList.of(1), last.getPath())
+            );
+        }
+
+        @Test
+        void testRemoveRangeOutOfBounds() {
+            root.attach().setValue(ImmutableList.of("a"));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> root.removeRange(0, 2));
+        }
+
+        @Test
+        void testDetachFirst() {
+            root.attach().setValue(ImmutableList.of("a", "b", "c", "d"));
+            Node last = root.resolve(3);
+            for (int i = 0; i < 3; i++) {
+                root.resolve(0).detach();
+            }
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(ImmutableList.of("d"), root.getValue()),
+                    () -> Assertions.assertEquals(0, last.getKey())
+            );
+        }
+
+    }
+
+    @Nested
+    class TruncateTests {
+
+        @Test
+        void testTruncate() {
+            root.attach().setValue(ImmutableList.of("a", "b", "c"));
+            root.truncate(1);
+            Assertions.assertEquals(ImmutableList.of("a"), root.getValue());
+        }
+
+        @Test
+        void testTruncateLarger() {
+            root.attach().setValue(ImmutableList.of("a"));
+            root.truncate(2);
+            Assertions.assertEquals(ImmutableList.of("a"), root.getValue());
+        }
+
+        @Test
+        void testTruncateNegative() {
+            root.attach().setValue(ImmutableList.of("a"));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> root.truncate(-1));
+        }
+
+        @Test
+        void testTruncateReattach() {
+            root.attach().setValue(ImmutableList.of("a", "b", "c", "d"));
+            Node last = root.resolve(3);
+            root.resolve(0).detach();
+            root.truncate(2);
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(2, last.getKey()),
+                    () -> Assertions.assertEquals(ImmutableList.of(2), last.getPath())
+            );
+            last.attach();
+            Assertions.assertEquals(Arrays.asList("b", "c", null), root.getValue());
+        }
+
+    }
+
+    @Nested
+    class BuilderTests {
+
+        @Test
+        void testBuild() {
+            Node node = Node.builder()
+                    .beginObject(2)
+                    .comment("comment").key("x").value(BigInteger.ONE)
+                    .key("y").beginArray(2).value("a").value(ImmutableMap.of("z", true)).end()
+                    .end()
+                    .build();
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(ImmutableMap.of("x", BigInteger.ONE, "y", ImmutableList.of("a", ImmutableMap.of("z", true))), node.getValue()),
+                    () -> Assertions.assertEquals("comment", node.resolve("x").getComment()),
+                    () -> Assertions.assertEquals(ImmutableList.of("y", 1, "z"), node.resolve("y", 1, "z").getPath())
+            );
+        }
+
+        @Test
+        void testBuildExisting() {
+            Node child = root.resolve("x", 0);
+            child.setComment("comment");
+            Node.builder(child).value(ImmutableList.of("a")).build();
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(ImmutableMap.of("x", ImmutableList.of(ImmutableList.of("a"))), root.getValue()),
+                    () -> Assertions.assertEquals("comment", child.getComment())
+            );
+        }
+
+        @Test
+        void testMissingKey() {
+            Node.Builder builder = Node.builder().beginObject();
+            Assertions.assertThrows(IllegalStateException.class, () -> builder.value("value"));
+        }
+
+        @Test
+        void testDuplicateKey() {
+            Node.Builder builder = Node.builder().beginObject().key("x").value("value").key("x");
+            Assertions.assertThrows(IllegalStateException.class, () -> builder.value("value"));
+        }
+
+        @Test
+        void testIncomplete() {
+            Assertions.assertAll(
+                    () -> Assertions.assertThrows(IllegalStateException.class, () -> Node.builder().build()),
+                    () -> Assertions.assertThrows(IllegalStateException.class, () -> Node.builder().beginArray().build()),
+                    () -> Assertions.assertThrows(IllegalStateException.class, () -> Node.builder().value("a").value("b"))
+            );
+        }
+
+    }
+
+    @Nested
+    class CopyTests {
+
+        @Test
+        void testCopy() {
+            root.attach().setValue(ImmutableMap.of("x", ImmutableList.of("a", "b"), "y", true));
+            root.resolve("x", 1).setComment("comment");
+            Node copy = root.resolve("x").copy();
+            copy.resolve(0).setValue("c");
+            Assertions.assertAll(
+                    () -> Assertions.assertTrue(copy.isRoot()),
+                    () -> Assertions.assertEquals(ImmutableList.of("c", "b"), copy.getValue()),
+                    () -> Assertions.assertEquals("comment", copy.resolve(1).getComment()),
+                    () -> Assertions.assertEquals(ImmutableList.of("a", "b"), root.resolve("x").getValue())
+            );
+        }
+
+        @Test
+        void testCopyUnattached() {
+            Assertions.assertEquals(Node.Type.UNDEFINED, root.resolve("x").copy().getType());
+        }
+
+    }
+
+    @Nested
+    class GraftTests {
+
+        @Test
+        void testGraft() {
+            root.attach().setValue(ImmutableMap.of("x", ImmutableList.of("a", "b"), "y", true));
+            Node previous = root.resolve("x", 1);
+            Node subtree = Node.root();
+            subtree.attach().setValue(ImmutableMap.of("z", "c"));
+            root.graft(ImmutableList.of("x", 1), subtree);
+            Assertions.assertAll(
+                    () -> Assertions.assertSame(subtree, root.resolve("x", 1)),
+                    () -> Assertions.assertEquals(ImmutableList.of("x", 1, "z"), root.resolve("x", 1, "z").getPath()),
+                    () -> Assertions.assertEquals(ImmutableMap.of("x", ImmutableList.of("a", ImmutableMap.of("z", "c")), "y", true), root.getValue()),
+                    () -> Assertions.assertEquals(Node.Type.UNDEFINED, previous.getType())
+            );
+        }
+
+        @Test
+        void testGraftNewPath() {
+            root.attach().setValue(ImmutableMap.of("x", "a"));
+            Node subtree = Node.root();
+            subtree.attach().setValue("b");
+            root.graft(ImmutableList.of("y", "z"), subtree);
+            Assertions.assertEquals(ImmutableMap.of("x", "a", "y", ImmutableMap.of("z", "b")), root.getValue());
+        }
+
+        @Test
+        void testGraftInvalid() {
+            root.attach().setValue(ImmutableMap.of("x", "a"));
+            Node subtree = Node.root();
+            subtree.attach().setValue(ImmutableList.of("b"));
+            Assertions.assertAll(
+                    () -> Assertions.assertThrows(IllegalArgumentException.class, () -> root.graft(ImmutableList.of("y"), root.resolve("x"))),
+                    () -> Assertions.assertThrows(IllegalArgumentException.class, () -> root.graft(ImmutableList.of("y"), Node.root())),
+                    () -> Assertions.assertThrows(IllegalArgumentException.class, () -> root.graft(ImmutableList.of(), subtree)),
+                    () -> Assertions.assertThrows(IllegalArgumentException.class, () -> subtree.resolve(0).graft(ImmutableList.of("y"), subtree))
+            );
+        }
+
+    }
+
+    @Nested
+    class EqualsTests {
+
+        @Test
+        void testEquals() {
+            root.attach().setValue(ImmutableMap.of("x", ImmutableList.of("a", "b"), "y", true));
+            Node other = Node.root();
+            other.attach().setValue(ImmutableMap.of("y", true, "x", ImmutableList.of("a", "b")));
+            other.resolve("x").setComment("comment");
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(root, other),
+                    () -> Assertions.assertEquals(root.hashCode(), other.hashCode()),
+                    () -> Assertions.assertEquals(root.resolve("x", 0), other.resolve("x", 0)),
+                    () -> Assertions.assertEquals(root.resolve("z"), other.resolve("z")),
+                    () -> Assertions.assertNotEquals(root.resolve("x"), other.resolve("y")),
+                    () -> Assertions.assertNotEquals(root.resolve("x", 0), other.resolve("x", 1))
+            );
+        }
+
+        @Test
+        void testSetValue() {
+            root.attach().setValue(ImmutableMap.of("x", ImmutableList.of("a", "b")));
+            Node other = Node.root();
+            other.attach().setValue(ImmutableMap.of("x", ImmutableList.of("a", "b")));
+            int hash = root.hashCode();
+            root.resolve("x", 1).setValue("c");
+            Assertions.assertAll(
+                    () -> Assertions.assertNotEquals(hash, root.hashCode()),
+                    () -> Assertions.assertNotEquals(root, other)
+            );
+        }
+
+        @Test
+        void testAttach() {
+            root.resolve("x", 0).attach();
+            Node other = Node.root();
+            other.resolve("x", 0).attach();
+            int hash = root.hashCode();
+            Node child = root.resolve("x", 2);
+            int childHash = child.hashCode();
+            child.attach();
+            Assertions.assertAll(
+                    () -> Assertions.assertNotEquals(hash, root.hashCode()),
+                    () -> Assertions.assertNotEquals(childHash, child.hashCode()),
+                    () -> Assertions.assertNotEquals(root, other)
+            );
+        }
+
+        @Test
+        void testDetach() {
+            root.attach().setValue(ImmutableMap.of("x", ImmutableList.of("a", "b")));
+            Node other = Node.root();
+            other.attach().setValue(ImmutableMap.of("x", ImmutableList.of("b")));
+            Assertions.assertNotEquals(root, other);
+            root.resolve("x", 0).detach();
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(root, other),
+                    () -> Assertions.assertEquals(root.hashCode(), other.hashCode())
+            );
+        }
+
+    }
+
 }
@@ -0,0 +1,137 @@
+package dev.willbanders.storm.config;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class OverlayTests {
+
+    private final Node base = node(ImmutableMap.of(
+            "name", "base",
+            "server", ImmutableMap.of("host", "localhost", "port", "80"),
+            "tags", ImmutableList.of("a")
+    ));
+    private final Node override = node(ImmutableMap.of(
+            "server", ImmutableMap.of("port", "8080"),
+            "tags", ImmutableList.of("b")
+    ));
+
+    @Test
+    void testMerge() {
+        Overlay overlay = Overlay.of(base, override);
+        Assertions.assertEquals(ImmutableMap.of(
+                "name", "base",
+                "server", ImmutableMap.of("host", "localhost", "port", "8080"),
+                "tags", ImmutableList.of("b")
+        ), overlay.merge().getValue());
+    }
+
+    @Test
+    void testResolve() {
+        Overlay overlay = Overlay.of(base, override);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals("localhost", overlay.resolve("server", "host").getValue()),
+                () -> Assertions.assertEquals("8080", overlay.resolve("server", "port").getValue()),
+                () -> Assertions.assertEquals(Node.Type.UNDEFINED, overlay.resolve("server", "missing").getType()),
+                () -> Assertions.assertEquals(Node.Type.UNDEFINED, overlay.resolve("name", "child").getType())
+        );
+    }
+
+    @Test
+    void testOverride() {
+        Node leaf = node(ImmutableMap.of("server", "none"));
+        Overlay overlay = Overlay.of(base, leaf);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals("none", overlay.resolve("server").getValue()),
+                () -> Assertions.assertEquals(Node.Type.UNDEFINED, overlay.resolve("server", "host").getType())
+        );
+    }
+
+    @Test
+    void testObjectReplace() {
+        Overlay overlay = Overlay.of(base, override).objects(Overlay.ObjectRule.REPLACE);
+        Assertions.assertEquals(override.getValue(), overlay.merge().getValue());
+    }
+
+    @Test
+    void testArrayAppend() {
+        Overlay overlay = Overlay.of(base, override).arrays(Overlay.ArrayRule.APPEND);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(ImmutableList.of("a", "b"), overlay.resolve("tags").getValue()),
+                () -> Assertions.assertEquals("b", overlay.resolve("tags", 1).getValue()),
+                () -> Assertions.assertEquals(Node.Type.UNDEFINED, overlay.resolve("tags", 2).getType())
+        );
+    }
+
+    @Test
+    void testComments() {
+        base.resolve("server").setComment("base");
+        base.resolve("name").setComment("name");
+        override.resolve("server").setComment("override");
+        Node merged = Overlay.of(base, override).merge();
+        Assertions.assertAll(
+                () -> Assertions.assertEquals("override", merged.resolve("server").getComment()),
+                () -> Assertions.assertEquals("name", merged.resolve("name").getComment())
+        );
+    }
+
+    @Test
+    void testCache() {
+        Overlay overlay = Overlay.of(base, override);
+        Node port = overlay.resolve("server", "port");
+        Assertions.assertSame(port, overlay.resolve("server", "port"));
+        override.resolve("server", "port").setValue("443");
+        Assertions.assertEquals("443", overlay.resolve("server", "port").getValue());
+    }
+
+    @Test
+    void testCacheSameHash() {
+        Node layer = node(ImmutableMap.of("x", "Aa"));
+        Overlay overlay = Overlay.of(base, layer);
+        Assertions.assertEquals("Aa", overlay.resolve("x").getValue());
+        int hash = layer.hashCode();
+        layer.resolve("x").setValue("BB");
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(hash, layer.hashCode()),
+                () -> Assertions.assertEquals("BB", overlay.resolve("x").getValue())
+        );
+    }
+
+    @Test
+    void testCacheComment() {
+        Overlay overlay = Overlay.of(base, override);
+        Assertions.assertEquals("", overlay.resolve("server").getComment());
+        override.resolve("server").setComment("override");
+        Assertions.assertEquals("override", overlay.resolve("server").getComment());
+    }
+
+    @Test
+    void testCacheSubtree() {
+        Node root = node(ImmutableMap.of("layer", ImmutableMap.of("x", "first")));
+        Overlay overlay = Overlay.of(base, root.resolve("layer"));
+        Assertions.assertEquals("first", overlay.resolve("x").getValue());
+        root.resolve("layer", "x").setValue("second");
+        Assertions.assertEquals("second", overlay.resolve("x").getValue());
+        Node other = node(ImmutableMap.of());
+        other.graft(ImmutableList.of("layer"), root);
+        root.resolve("layer", "x").setValue("third");
+        Assertions.assertEquals("third", overlay.resolve("x").getValue());
+    }
+
+    @Test
+    void testLayersUnchanged() {
+        Overlay.of(base, override).arrays(Overlay.ArrayRule.APPEND).merge();
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(ImmutableList.of("a"), base.resolve("tags").getValue()),
+                () -> Assertions.assertEquals(ImmutableList.of("b"), override.resolve("tags").getValue())
+        );
+    }
+
+    private static Node node(Object value) {
+        Node root = Node.root();
+        root.attach().setValue(value);
+        return root;
+    }
+
+}
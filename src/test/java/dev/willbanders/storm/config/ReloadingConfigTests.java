@@ -0,0 +1,142 @@
+package dev.willbanders.storm.config;
+
+import com.google.common.collect.ImmutableList;
+import dev.willbanders.storm.format.ParseException;
+import dev.willbanders.storm.format.storm.StormParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+class ReloadingConfigTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReload() throws Exception {
+        Path file = write("x = 1\ny = 2");
+        try (ReloadingConfig config = ReloadingConfig.watch(file, StormParser::parse)) {
+            BlockingQueue<List<List<Object>>> changes = subscribe(config);
+            write("x = 1\ny = 3\nz = 4");
+            config.reload();
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(ImmutableList.of(ImmutableList.of("y"), ImmutableList.of("z")), changes.poll()),
+                    () -> Assertions.assertEquals(BigInteger.valueOf(3), config.get().resolve("y").getValue())
+            );
+        }
+    }
+
+    @Test
+    void testReloadInvalid() throws Exception {
+        Path file = write("x = 1");
+        try (ReloadingConfig config = ReloadingConfig.watch(file, StormParser::parse)) {
+            BlockingQueue<Exception> failures = new LinkedBlockingQueue<>();
+            config.subscribe(new ReloadingConfig.Listener() {
+
+                @Override
+                public void reloaded(Node previous, Node current, List<Diff.Change> changes) {}
+
+                @Override
+                public void failed(Exception exception) {
+                    failures.add(exception);
+                }
+
+            });
+            write("x = ");
+            config.reload();
+            Assertions.assertAll(
+                    () -> Assertions.assertTrue(failures.poll() instanceof ParseException),
+                    () -> Assertions.assertEquals(BigInteger.ONE, config.get().resolve("x").getValue())
+            );
+        }
+    }
+
+    @Test
+    void testReloadParserException() throws Exception {
+        Path file = write("x = 1");
+        try (ReloadingConfig config = ReloadingConfig.watch(file, input -> {
+            if (input.contains("invalid")) {
+                throw new IllegalStateException("invalid");
+            }
+            return StormParser.parse(input);
+        })) {
+            BlockingQueue<Exception> failures = new LinkedBlockingQueue<>();
+            config.subscribe(new ReloadingConfig.Listener() {
+
+                @Override
+                public void reloaded(Node previous, Node current, List<Diff.Change> changes) {}
+
+                @Override
+                public void failed(Exception exception) {
+                    failures.add(exception);
+                }
+
+            });
+            write("invalid = 2");
+            config.reload();
+            Assertions.assertAll(
+                    () -> Assertions.assertTrue(failures.poll() instanceof IllegalStateException),
+                    () -> Assertions.assertEquals(BigInteger.ONE, config.get().resolve("x").getValue())
+            );
+        }
+    }
+
+    @Test
+    void testReloadListenerException() throws Exception {
+        Path file = write("x = 1");
+        Thread.UncaughtExceptionHandler handler = Thread.currentThread().getUncaughtExceptionHandler();
+        List<Throwable> uncaught = new CopyOnWriteArrayList<>();
+        Thread.currentThread().setUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+        try (ReloadingConfig config = ReloadingConfig.watch(file, StormParser::parse)) {
+            config.subscribe((previous, current, changed) -> {
+                throw new IllegalStateException("listener");
+            });
+            BlockingQueue<List<List<Object>>> changes = subscribe(config);
+            write("x = 2");
+            config.reload();
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(ImmutableList.of(ImmutableList.of("x")), changes.poll()),
+                    () -> Assertions.assertEquals(1, uncaught.size())
+            );
+        } finally {
+            Thread.currentThread().setUncaughtExceptionHandler(handler);
+        }
+    }
+
+    @Test
+    void testWatch() throws Exception {
+        Path file = write("x = 1");
+        try (ReloadingConfig config = ReloadingConfig.watch(file, StormParser::parse, Duration.ofMillis(10))) {
+            BlockingQueue<List<List<Object>>> changes = subscribe(config);
+            write("x = 2");
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(ImmutableList.of(ImmutableList.of("x")), changes.poll(30, TimeUnit.SECONDS)),
+                    () -> Assertions.assertEquals(BigInteger.valueOf(2), config.get().resolve("x").getValue())
+            );
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.write(directory.resolve("config.storm"), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private BlockingQueue<List<List<Object>>> subscribe(ReloadingConfig config) {
+        BlockingQueue<List<List<Object>>> changes = new LinkedBlockingQueue<>();
+        config.subscribe((previous, current, changed) -> changes.add(changed.stream().map(Diff.Change::getPath).collect(Collectors.toList())));
+        return changes;
+    }
+
+}
@@ -0,0 +1,183 @@
+package dev.willbanders.storm.config;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+class SnapshotTests {
+
+    private final Node root = Node.root();
+
+    @Test
+    void testOf() {
+        root.attach().setValue(ImmutableMap.of("x", ImmutableList.of("a", "b"), "y", true));
+        root.resolve("x").setComment("comment");
+        Snapshot snapshot = Snapshot.of(root);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(root.getValue(), snapshot.getValue()),
+                () -> Assertions.assertEquals("comment", snapshot.resolve("x").getComment()),
+                () -> Assertions.assertEquals("b", snapshot.resolve("x", 1).getValue()),
+                () -> Assertions.assertEquals(Node.Type.UNDEFINED, snapshot.resolve("z", 0).getType())
+        );
+    }
+
+    @Test
+    void testToNode() {
+        root.attach().setValue(ImmutableMap.of("x", ImmutableList.of("a", "b"), "y", true));
+        root.resolve("x", 0).setComment("comment");
+        Node node = Snapshot.of(root).toNode();
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(root.getValue(), node.getValue()),
+                () -> Assertions.assertEquals("comment", node.resolve("x", 0).getComment())
+        );
+    }
+
+    @Test
+    void testWith() {
+        root.attach().setValue(ImmutableMap.of("x", ImmutableList.of("a"), "y", ImmutableMap.of("z", true)));
+        root.resolve("x").setComment("comment");
+        Snapshot original = Snapshot.of(root);
+        Snapshot updated = original.with(ImmutableList.of("x", 2), BigInteger.ONE);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(ImmutableList.of("a"), original.resolve("x").getValue()),
+                () -> Assertions.assertEquals(Arrays.asList("a", null, BigInteger.ONE), updated.resolve("x").getValue()),
+                () -> Assertions.assertEquals("comment", updated.resolve("x").getComment()),
+                () -> Assertions.assertSame(original.resolve("y"), updated.resolve("y")),
+                () -> Assertions.assertEquals("value", original.with(ImmutableList.of("new", "path"), "value").resolve("new", "path").getValue()),
+                () -> Assertions.assertThrows(RuntimeException.class, () -> original.with(ImmutableList.of("x", "key"), "value"))
+        );
+    }
+
+    @Test
+    void testWithout() {
+        root.attach().setValue(ImmutableMap.of("x", ImmutableList.of("a", "b"), "y", ImmutableMap.of("z", true)));
+        Snapshot original = Snapshot.of(root);
+        Snapshot updated = original.without(ImmutableList.of("x", 0));
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(ImmutableList.of("a", "b"), original.resolve("x").getValue()),
+                () -> Assertions.assertEquals(ImmutableList.of("b"), updated.resolve("x").getValue()),
+                () -> Assertions.assertSame(original.resolve("y"), updated.resolve("y")),
+                () -> Assertions.assertSame(original, original.without(ImmutableList.of("missing"))),
+                () -> Assertions.assertEquals(ImmutableMap.of("x", ImmutableList.of("a", "b")), original.without(ImmutableList.of("y")).getValue())
+        );
+    }
+
+    @Test
+    void testWideArray() {
+        List<Object> expected = Lists.newArrayList();
+        for (int i = 0; i < 50_000; i++) {
+            expected.add("v" + i);
+        }
+        root.attach().setValue(expected);
+        Snapshot original = Snapshot.of(root);
+        Snapshot snapshot = original;
+        Random random = new Random(0);
+        for (int i = 0; i < 2_000; i++) {
+            int index = random.nextInt(expected.size());
+            switch (random.nextInt(4)) {
+                case 0:
+                    snapshot = snapshot.with(ImmutableList.of(index), "w" + i);
+                    expected.set(index, "w" + i);
+                    break;
+                case 1:
+                    snapshot = snapshot.with(ImmutableList.of(expected.size()), "w" + i);
+                    expected.add("w" + i);
+                    break;
+                case 2:
+                    index = Math.max(0, expected.size() - 1 - random.nextInt(40));
+                    snapshot = snapshot.without(ImmutableList.of(index));
+                    expected.remove(index);
+                    break;
+                default:
+                    if (i % 50 == 0) {
+                        snapshot = snapshot.without(ImmutableList.of(index));
+                        expected.remove(index);
+                    }
+            }
+        }
+        Snapshot updated = snapshot;
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(expected, updated.getValue()),
+                () -> Assertions.assertEquals(expected.size(), updated.getList().size()),
+                () -> Assertions.assertEquals("v49999", original.resolve(49_999).getValue()),
+                () -> Assertions.assertEquals(50_000, original.getList().size())
+        );
+    }
+
+    @Test
+    void testArrayGrowth() {
+        List<Object> expected = Lists.newArrayList();
+        Snapshot snapshot = Snapshot.of(root);
+        for (int i = 0; i < 1_100; i++) {
+            snapshot = snapshot.with(ImmutableList.of(i), "v" + i);
+            expected.add("v" + i);
+        }
+        Snapshot grown = snapshot;
+        Snapshot full = snapshot.with(ImmutableList.of(1_200), "last");
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(expected, grown.getValue()),
+                () -> Assertions.assertEquals(1_201, full.getList().size()),
+                () -> Assertions.assertEquals(Node.Type.NULL, full.resolve(1_150).getType()),
+                () -> Assertions.assertEquals("last", full.resolve(1_200).getValue())
+        );
+        for (int i = 1_099; i >= 0; i--) {
+            Assertions.assertEquals(expected.get(i), snapshot.resolve(i).getValue());
+            snapshot = snapshot.without(ImmutableList.of(i));
+            Assertions.assertEquals(i, snapshot.getList().size());
+        }
+    }
+
+    @Test
+    void testWideObject() {
+        Map<String, Object> expected = Maps.newLinkedHashMap();
+        for (int i = 0; i < 10_000; i++) {
+            expected.put("k" + i, "v" + i);
+        }
+        root.attach().setValue(expected);
+        Snapshot original = Snapshot.of(root);
+        Snapshot snapshot = original;
+        Random random = new Random(0);
+        for (int i = 0; i < 20_000; i++) {
+            String key = "k" + random.nextInt(12_000);
+            if (random.nextBoolean()) {
+                snapshot = snapshot.with(ImmutableList.of(key), "w" + i);
+                expected.put(key, "w" + i);
+            } else {
+                snapshot = snapshot.without(ImmutableList.of(key));
+                expected.remove(key);
+            }
+        }
+        Snapshot updated = snapshot;
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(Lists.newArrayList(expected.entrySet()), Lists.newArrayList(((Map<?, ?>) updated.getValue()).entrySet())),
+                () -> Assertions.assertEquals(expected.size(), updated.getMap().size()),
+                () -> Assertions.assertEquals(Node.Type.UNDEFINED, updated.resolve("k11999x").getType()),
+                () -> Assertions.assertEquals("v9999", original.resolve("k9999").getValue()),
+                () -> Assertions.assertEquals(10_000, original.getMap().size())
+        );
+    }
+
+    @Test
+    void testObjectCollision() {
+        Snapshot snapshot = Snapshot.of(root).with(ImmutableList.of("Aa"), BigInteger.ONE).with(ImmutableList.of("BB"), BigInteger.valueOf(2)).with(ImmutableList.of("C"), BigInteger.valueOf(3));
+        Snapshot removed = snapshot.without(ImmutableList.of("Aa"));
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(BigInteger.ONE, snapshot.resolve("Aa").getValue()),
+                () -> Assertions.assertEquals(BigInteger.valueOf(2), snapshot.resolve("BB").getValue()),
+                () -> Assertions.assertEquals(Arrays.asList("Aa", "BB", "C"), Lists.newArrayList(snapshot.getMap().keySet())),
+                () -> Assertions.assertEquals(Node.Type.UNDEFINED, removed.resolve("Aa").getType()),
+                () -> Assertions.assertEquals(BigInteger.valueOf(2), removed.resolve("BB").getValue())
+        );
+    }
+
+}
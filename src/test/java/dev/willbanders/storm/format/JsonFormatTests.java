@@ -3,6 +3,7 @@ package dev.willbanders.storm.format;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.config.StringPool;
 import dev.willbanders.storm.format.json.JsonGenerator;
 import dev.willbanders.storm.format.json.JsonParser;
 import org.junit.jupiter.api.Assertions;
@@ -18,6 +19,7 @@ import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 public class JsonFormatTests {
@@ -191,15 +193,54 @@ public class JsonFormatTests {
         test(input, value, Node.Type.OBJECT);
     }
 
+    @Test
+    void testParallel() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            builder.append(i == 0 ? "" : ",").append("\n    {\"id\": ").append(i).append(", \"name\": \"[\\\"").append(i).append("}\"}");
+        }
+        String input = builder.append("\n]").toString();
+        Assertions.assertEquals(JsonParser.parse(input).getValue(), JsonParser.parse(input, ForkJoinPool.commonPool()).getValue());
+    }
+
+    @Test
+    void testKeys() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            builder.append(i == 0 ? "" : ",").append("{\"id\": ").append(i).append("}");
+        }
+        String input = builder.append("]").toString();
+        Node sequential = JsonParser.parse(input);
+        Node parallel = JsonParser.parse(input, ForkJoinPool.commonPool());
+        Assertions.assertAll(
+                () -> Assertions.assertSame(sequential.resolve(0, "id").getKey(), sequential.resolve(99, "id").getKey()),
+                () -> Assertions.assertSame(parallel.resolve(0, "id").getKey(), parallel.resolve(99, "id").getKey())
+        );
+    }
+
+    @Test
+    void testStrings() {
+        StringPool pool = new StringPool(16);
+        Node first = JsonParser.parse("{\"region\": \"us-east\"}", pool);
+        Node second = JsonParser.parse("[{\"region\": \"us-east\"}, \"us-\\u0065ast\"]", pool);
+        Assertions.assertAll(
+                () -> Assertions.assertSame(first.resolve("region").getKey(), second.resolve(0, "region").getKey()),
+                () -> Assertions.assertSame(first.resolve("region").getValue(), second.resolve(0, "region").getValue()),
+                () -> Assertions.assertSame(first.resolve("region").getValue(), second.resolve(1).getValue())
+        );
+    }
+
     @ParameterizedTest
     @MethodSource
     void testDiagnosticRange(String test, String input, Diagnostic.Range range) {
         ParseException e = Assertions.assertThrows(ParseException.class, () -> JsonParser.parse(input));
+        ParseException parallel = Assertions.assertThrows(ParseException.class, () -> JsonParser.parse(input, ForkJoinPool.commonPool()));
         Assertions.assertAll(
                 () -> Assertions.assertEquals(range.getIndex(), e.getDiagnostic().getRange().getIndex()),
                 () -> Assertions.assertEquals(range.getLine(), e.getDiagnostic().getRange().getLine()),
                 () -> Assertions.assertEquals(range.getColumn(), e.getDiagnostic().getRange().getColumn()),
-                () -> Assertions.assertEquals(range.getLength(), e.getDiagnostic().getRange().getLength())
+                () -> Assertions.assertEquals(range.getLength(), e.getDiagnostic().getRange().getLength()),
+                () -> Assertions.assertEquals(e.getDiagnostic().toString(), parallel.getDiagnostic().toString())
         );
     }
 
@@ -240,6 +281,13 @@ public class JsonFormatTests {
                                 () -> Assertions.assertEquals(value, node.getValue())
                         );
                     },
+                    () -> {
+                        Node node = JsonParser.parse(input, ForkJoinPool.commonPool());
+                        Assertions.assertAll(
+                                () -> Assertions.assertEquals(type, node.getType()),
+                                () -> Assertions.assertEquals(value, node.getValue())
+                        );
+                    },
                     () -> {
                         Node root = Node.root();
                         root.attach().setValue(value);
@@ -253,7 +301,10 @@ public class JsonFormatTests {
                     }
             );
         } else {
-            Assertions.assertThrows(ParseException.class, () -> JsonParser.parse(input));
+            Assertions.assertAll(
+                    () -> Assertions.assertThrows(ParseException.class, () -> JsonParser.parse(input)),
+                    () -> Assertions.assertThrows(ParseException.class, () -> JsonParser.parse(input, ForkJoinPool.commonPool()))
+            );
         }
     }
 
@@ -3,6 +3,7 @@ package dev.willbanders.storm.format;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.config.StringPool;
 import dev.willbanders.storm.format.storm.StormGenerator;
 import dev.willbanders.storm.format.storm.StormParser;
 import org.junit.jupiter.api.Assertions;
@@ -233,6 +234,24 @@ public class StormFormatTests {
         test(input, value, Node.Type.OBJECT);
     }
 
+    @Test
+    void testKeys() {
+        Node root = StormParser.parse("first = {id = 1}\nsecond = {\"id\" = 2}");
+        Assertions.assertSame(root.resolve("first", "id").getKey(), root.resolve("second", "id").getKey());
+    }
+
+    @Test
+    void testStrings() {
+        StringPool pool = new StringPool(16);
+        Node first = StormParser.parse("host = \"localhost\"", pool);
+        Node second = StormParser.parse("hosts = [\"localhost\", \"local\\u0068ost\"]", pool);
+        Assertions.assertAll(
+                () -> Assertions.assertSame(first.resolve("host").getValue(), second.resolve("hosts", 0).getValue()),
+                () -> Assertions.assertSame(first.resolve("host").getValue(), second.resolve("hosts", 1).getValue()),
+                () -> Assertions.assertNotSame(first.resolve("host").getValue(), StormParser.parse("host = \"localhost\"").resolve("host").getValue())
+        );
+    }
+
     @ParameterizedTest
     @MethodSource
     void testDiagnosticRange(String test, String input, Diagnostic.Range range) {
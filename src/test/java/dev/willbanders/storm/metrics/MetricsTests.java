@@ -0,0 +1,114 @@
+package dev.willbanders.storm.metrics;
+
+import dev.willbanders.storm.Storm;
+import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.format.json.JsonParser;
+import dev.willbanders.storm.format.storm.StormGenerator;
+import dev.willbanders.storm.format.storm.StormParser;
+import dev.willbanders.storm.serializer.primitive.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.ForkJoinPool;
+
+class MetricsTests {
+
+    private final HistogramMetrics metrics = new HistogramMetrics();
+    private ParseStats stats;
+
+    @BeforeEach
+    void setup() {
+        Storm.setMetrics(new Metrics() {
+
+            @Override
+            public void parsed(Class<?> parser, ParseStats stats) {
+                MetricsTests.this.stats = stats;
+                metrics.parsed(parser, stats);
+            }
+
+            @Override
+            public void generated(Class<?> generator, long characters, long nanos) {
+                metrics.generated(generator, characters, nanos);
+            }
+
+            @Override
+            public void deserialized(Class<?> serializer, long nanos) {
+                metrics.deserialized(serializer, nanos);
+            }
+
+            @Override
+            public void reserialized(Class<?> serializer, long nanos) {
+                metrics.reserialized(serializer, nanos);
+            }
+
+        });
+    }
+
+    @AfterEach
+    void teardown() {
+        Storm.setMetrics(Metrics.NONE);
+    }
+
+    @Test
+    void testParse() {
+        String input = "x = [1, {y = 2}]\nz = \"z\"";
+        StormParser.parse(input);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(input.length(), stats.getCharacters()),
+                () -> Assertions.assertEquals(15, stats.getTokens()),
+                () -> Assertions.assertEquals(6, stats.getNodes()),
+                () -> Assertions.assertEquals(4, stats.getDepth()),
+                () -> Assertions.assertEquals(1, metrics.get(HistogramMetrics.Phase.PARSE).get(StormParser.class).getCount())
+        );
+    }
+
+    @Test
+    void testParseParallel() {
+        String input = "[1, {\"y\": [2]}, \"z\"]";
+        JsonParser.parse(input);
+        ParseStats sequential = stats;
+        JsonParser.parse(input, ForkJoinPool.commonPool());
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(sequential.getCharacters(), stats.getCharacters()),
+                () -> Assertions.assertEquals(sequential.getTokens(), stats.getTokens()),
+                () -> Assertions.assertEquals(sequential.getNodes(), stats.getNodes()),
+                () -> Assertions.assertEquals(sequential.getDepth(), stats.getDepth()),
+                () -> Assertions.assertEquals(2, metrics.get(HistogramMetrics.Phase.PARSE).get(JsonParser.class).getCount())
+        );
+    }
+
+    @Test
+    void testParseParallelObject() {
+        String input = "{\"x\": 1, \"y\": {\"z\": [2]}}";
+        JsonParser.parse(input);
+        ParseStats sequential = stats;
+        JsonParser.parse(input, ForkJoinPool.commonPool());
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(sequential.getTokens(), stats.getTokens()),
+                () -> Assertions.assertEquals(sequential.getNodes(), stats.getNodes()),
+                () -> Assertions.assertEquals(2, metrics.get(HistogramMetrics.Phase.PARSE).get(JsonParser.class).getCount())
+        );
+    }
+
+    @Test
+    void testGenerate() {
+        StormGenerator.generate(StormParser.parse("x = 1"), new PrintWriter(new StringWriter()));
+        Assertions.assertEquals(1, metrics.get(HistogramMetrics.Phase.GENERATE).get(StormGenerator.class).getCount());
+    }
+
+    @Test
+    void testSerializer() {
+        Node node = Node.root();
+        node.set("string", Storm.STRING);
+        node.get(Storm.STRING);
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(1, metrics.get(HistogramMetrics.Phase.RESERIALIZE).get(StringSerializer.class).getCount()),
+                () -> Assertions.assertEquals(1, metrics.get(HistogramMetrics.Phase.DESERIALIZE).get(StringSerializer.class).getCount())
+        );
+    }
+
+}
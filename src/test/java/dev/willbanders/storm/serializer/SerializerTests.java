@@ -6,12 +6,16 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Range;
 import dev.willbanders.storm.Storm;
 import dev.willbanders.storm.config.Node;
+import dev.willbanders.storm.format.json.JsonParser;
+import dev.willbanders.storm.serializer.common.DataSize;
 import dev.willbanders.storm.serializer.primitive.EnumSerializer;
 import dev.willbanders.storm.serializer.primitive.ListSerializer;
 import dev.willbanders.storm.serializer.primitive.MapSerializer;
 import dev.willbanders.storm.serializer.primitive.NullableSerializer;
 import dev.willbanders.storm.serializer.primitive.OptionalSerializer;
+import dev.willbanders.storm.serializer.primitive.SchemaSerializer;
 import dev.willbanders.storm.serializer.primitive.SetSerializer;
+import dev.willbanders.storm.serializer.primitive.TaggedSerializer;
 import dev.willbanders.storm.serializer.primitive.TupleSerializer;
 import dev.willbanders.storm.serializer.primitive.UnionSerializer;
 import org.junit.jupiter.api.Assertions;
@@ -23,10 +27,24 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 class SerializerTests {
@@ -101,6 +119,16 @@ class SerializerTests {
             );
         }
 
+        @Test
+        void testIntegerTypeRange() {
+            Serializer<Integer> serializer = Storm.INTEGER.range(Range.closed(0, 5));
+            Assertions.assertAll(
+                    () -> testSerializer(serializer, 5, BigInteger.valueOf(5), true),
+                    () -> testDeserializer(serializer, BigInteger.valueOf(6), null, false),
+                    () -> testSerializer(Storm.INTEGER.range(Range.atLeast(0)), Integer.MAX_VALUE, BigInteger.valueOf(Integer.MAX_VALUE), true)
+            );
+        }
+
     }
 
     private static Stream<Arguments> testInteger() {
@@ -118,7 +146,8 @@ class SerializerTests {
         return Stream.of(
                 Arguments.of("Open", Range.open(BigInteger.ZERO, BigInteger.TEN)),
                 Arguments.of("Closed", Range.closed(BigInteger.ZERO, BigInteger.TEN)),
-                Arguments.of("Empty", Range.closedOpen(BigInteger.ZERO, BigInteger.ZERO))
+                Arguments.of("Empty", Range.closedOpen(BigInteger.ZERO, BigInteger.ZERO)),
+                Arguments.of("All", Range.all())
         );
     }
 
@@ -222,7 +251,9 @@ class SerializerTests {
                 Arguments.of("Letter Invalid", '\'', "[A-Za-z]"),
                 Arguments.of("Escape Valid", '\'', "[bfnrt\'\"\\\\]"),
                 Arguments.of("Escape Invalid", 'c', "[bfnrt\'\"\\\\]"),
-                Arguments.of("Wildcard", '?', ".*")
+                Arguments.of("Wildcard", '?', ".*"),
+                Arguments.of("Hex Escape Valid", 'A', "\\x41"),
+                Arguments.of("Hex Escape Invalid", 'B', "\\x41")
         );
     }
 
@@ -241,6 +272,20 @@ class SerializerTests {
             testSerializer(Storm.STRING.matches(regex), value, value, value.matches(regex));
         }
 
+        @Test
+        void testStringInterned() {
+            Node first = Node.root();
+            first.attach().setValue(new String("interned"));
+            Node second = Node.root();
+            second.attach().setValue(new String("interned"));
+            Assertions.assertAll(
+                    () -> Assertions.assertSame(first.get(Storm.STRING.interned()), second.get(Storm.STRING.interned())),
+                    () -> Assertions.assertSame(first.get(Storm.STRING.matches("\\w+").interned()), second.get(Storm.STRING.interned().matches("\\w+"))),
+                    () -> Assertions.assertNotSame(first.get(Storm.STRING), second.get(Storm.STRING)),
+                    () -> Assertions.assertThrows(SerializationException.class, () -> first.get(Storm.STRING.matches("\\d+").interned()))
+            );
+        }
+
     }
 
     private static Stream<Arguments> testString() {
@@ -258,7 +303,124 @@ class SerializerTests {
                 Arguments.of("Email Invalid", "xyz", "\\w+@\\w+\\.\\w+"),
                 Arguments.of("Escape Valid", "\\\"", "\\\\[bfnrt\'\"\\\\]"),
                 Arguments.of("Escape Invalid", "\\c", "\\\\[bfnrt\'\"\\\\]"),
-                Arguments.of("Wildcard", "???", ".*")
+                Arguments.of("Wildcard", "???", ".*"),
+                Arguments.of("Literal Valid", "a.b", "a\\.b"),
+                Arguments.of("Literal Invalid", "axb", "a\\.b"),
+                Arguments.of("Anchored Literal", "abc", "^abc$"),
+                Arguments.of("Charset Valid", "storm_1", "[a-z0-9_]{3,16}"),
+                Arguments.of("Charset Too Short", "ab", "[a-z0-9_]{3,16}"),
+                Arguments.of("Charset Invalid Character", "storm-1", "[a-z0-9_]{3,16}"),
+                Arguments.of("Charset Non-ASCII", "\u00e9", "\\w+"),
+                Arguments.of("Charset Escape", "a-b", "[\\w\\-]+"),
+                Arguments.of("Charset Escaped Range Valid", "abc", "[!-\\~]+"),
+                Arguments.of("Charset Escaped Range Invalid", "a b", "[!-\\~]+"),
+                Arguments.of("Charset Escaped Bounds", "[\\]", "[\\[-\\]]+"),
+                Arguments.of("Charset Escaped Bounds Invalid", "^", "[\\[-\\]]+"),
+                Arguments.of("Prefix Suffix Valid", "https://storm.com", "https?://.*\\.com"),
+                Arguments.of("Prefix Invalid", "ftp://storm.com", "https?://.*\\.com"),
+                Arguments.of("Suffix Invalid", "http://storm.org", "https?://.*\\.com"),
+                Arguments.of("Quantified Prefix", "b", "a*b"),
+                Arguments.of("Hex Escape", "A", "\\x41"),
+                Arguments.of("Hex Escape Braces", "aAb", "a\\x{41}b"),
+                Arguments.of("Unicode Escape", "A", "\\u0041"),
+                Arguments.of("Octal Escape", "A", "\\0101"),
+                Arguments.of("Octal Escape Suffix", "A1", "\\0101"),
+                Arguments.of("Escape Suffix", "aA", "a\\x41"),
+                Arguments.of("Escape Suffix Invalid", "aB", "a\\x41"),
+                Arguments.of("Escape Prefix", "id-A", "id-\\x41"),
+                Arguments.of("Property Escape", "ax", "\\pLx"),
+                Arguments.of("Property Escape Braces", "Ab", "\\p{Lu}b"),
+                Arguments.of("Control Escape", "\u0001b", "\\cAb"),
+                Arguments.of("Named Character Escape", "ab", "\\N{LATIN SMALL LETTER A}b"),
+                Arguments.of("Back Reference", "aab", "(a)\\1b"),
+                Arguments.of("Alternation", "b", "a|b"),
+                Arguments.of("Inline Flags", "ABC", "(?i)abc")
+        );
+    }
+
+    @Nested
+    class CommonTests {
+
+        @ParameterizedTest
+        @MethodSource("dev.willbanders.storm.serializer.SerializerTests#testCommon")
+        void testCommon(String test, Serializer<?> serializer, Object value, String expected) {
+            testSerializer(serializer, value, expected, true);
+        }
+
+        @ParameterizedTest
+        @MethodSource("dev.willbanders.storm.serializer.SerializerTests#testCommonParse")
+        void testCommonParse(String test, Serializer<?> serializer, String value, Object expected) {
+            testDeserializer(serializer, value, expected, expected != null);
+        }
+
+        @Test
+        void testCommonScope() {
+            Node node = Node.root();
+            node.attach().setValue("1h30m");
+            Assertions.assertEquals(Duration.ofMinutes(90), node.get(Storm.SCOPE.get(Duration.class)));
+        }
+
+        @Test
+        void testCommonInvalidType() {
+            testDeserializer(Storm.DURATION, BigInteger.ONE, null, false);
+        }
+
+        @Test
+        void testDataSize() {
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(DataSize.ofBytes(1536), DataSize.parse("1.5KiB")),
+                    () -> Assertions.assertEquals("1000KiB", DataSize.ofBytes(1024000).toString()),
+                    () -> Assertions.assertEquals(DataSize.of(3, DataSize.Unit.GIBIBYTES), DataSize.parse("3 gib")),
+                    () -> Assertions.assertThrows(IllegalArgumentException.class, () -> DataSize.parse("1.5B")),
+                    () -> Assertions.assertThrows(IllegalArgumentException.class, () -> DataSize.ofBytes(-1))
+            );
+        }
+
+    }
+
+    private static Stream<Arguments> testCommon() {
+        return Stream.of(
+                Arguments.of("Duration", Storm.DURATION, Duration.ofMinutes(90), "1h30m"),
+                Arguments.of("Duration Days", Storm.DURATION, Duration.ofHours(26).plusNanos(1_001_001), "1d2h1ms1us1ns"),
+                Arguments.of("Duration Zero", Storm.DURATION, Duration.ZERO, "0s"),
+                Arguments.of("Duration Negative", Storm.DURATION, Duration.ofMillis(-500), "-500ms"),
+                Arguments.of("Duration Negative Fraction", Storm.DURATION, Duration.ofSeconds(-2, 500_000_000), "-1s500ms"),
+                Arguments.of("Duration Minimum", Storm.DURATION, Duration.ofSeconds(Long.MIN_VALUE), "-106751991167300d15h30m8s"),
+                Arguments.of("Duration Maximum", Storm.DURATION, Duration.ofSeconds(Long.MAX_VALUE, 999_999_999), "106751991167300d15h30m7s999ms999us999ns"),
+                Arguments.of("Instant", Storm.INSTANT, Instant.ofEpochSecond(1577880000), "2020-01-01T12:00:00Z"),
+                Arguments.of("Local Date", Storm.LOCAL_DATE, LocalDate.of(2020, 1, 1), "2020-01-01"),
+                Arguments.of("UUID", Storm.UUID, new UUID(0x123e4567e89b12d3L, 0xa456426614174000L), "123e4567-e89b-12d3-a456-426614174000"),
+                Arguments.of("URI", Storm.URI, URI.create("https://storm.dev/path?query#fragment"), "https://storm.dev/path?query#fragment"),
+                Arguments.of("URI Relative", Storm.URI, URI.create("../path"), "../path"),
+                Arguments.of("Socket Address", Storm.INET_SOCKET_ADDRESS, InetSocketAddress.createUnresolved("localhost", 8080), "localhost:8080"),
+                Arguments.of("Socket Address IPv6", Storm.INET_SOCKET_ADDRESS, InetSocketAddress.createUnresolved("::1", 0), "[::1]:0"),
+                Arguments.of("Data Size", Storm.DATA_SIZE, DataSize.of(512, DataSize.Unit.MEBIBYTES), "512MiB"),
+                Arguments.of("Data Size Decimal", Storm.DATA_SIZE, DataSize.ofBytes(1500), "1500B"),
+                Arguments.of("Data Size Zero", Storm.DATA_SIZE, DataSize.ZERO, "0B")
+        );
+    }
+
+    private static Stream<Arguments> testCommonParse() {
+        return Stream.of(
+                Arguments.of("Duration Seconds", Storm.DURATION, "90s", Duration.ofSeconds(90)),
+                Arguments.of("Duration Empty", Storm.DURATION, "", null),
+                Arguments.of("Duration Missing Unit", Storm.DURATION, "10", null),
+                Arguments.of("Duration Invalid Unit", Storm.DURATION, "10y", null),
+                Arguments.of("Duration Increasing Units", Storm.DURATION, "30m1h", null),
+                Arguments.of("Duration Overflow", Storm.DURATION, "99999999999999999999s", null),
+                Arguments.of("Instant Offset", Storm.INSTANT, "2020-01-01T12:00:00", null),
+                Arguments.of("Local Date Invalid", Storm.LOCAL_DATE, "2020-02-30", null),
+                Arguments.of("UUID Uppercase", Storm.UUID, "123E4567-E89B-12D3-A456-426614174000", new UUID(0x123e4567e89b12d3L, 0xa456426614174000L)),
+                Arguments.of("UUID Short Group", Storm.UUID, "1-1-1-1-1", null),
+                Arguments.of("UUID Invalid Digit", Storm.UUID, "g23e4567-e89b-12d3-a456-426614174000", null),
+                Arguments.of("URI Invalid", Storm.URI, "http://storm dev", null),
+                Arguments.of("Socket Address Missing Port", Storm.INET_SOCKET_ADDRESS, "localhost", null),
+                Arguments.of("Socket Address Unbracketed IPv6", Storm.INET_SOCKET_ADDRESS, "::1:8080", null),
+                Arguments.of("Socket Address Port Range", Storm.INET_SOCKET_ADDRESS, "localhost:65536", null),
+                Arguments.of("Data Size Decimal Unit", Storm.DATA_SIZE, "1.5GB", DataSize.ofBytes(1_500_000_000L)),
+                Arguments.of("Data Size Bytes", Storm.DATA_SIZE, "1024", DataSize.of(1, DataSize.Unit.KIBIBYTES)),
+                Arguments.of("Data Size Invalid Unit", Storm.DATA_SIZE, "1XB", null),
+                Arguments.of("Data Size Negative", Storm.DATA_SIZE, "-1B", null)
         );
     }
 
@@ -288,6 +450,19 @@ class SerializerTests {
             );
         }
 
+        @Test
+        void testListCollector() {
+            ListSerializer<String> serializer = Storm.LIST.of(Storm.STRING).collector(ImmutableList.toImmutableList());
+            Node node = Node.root();
+            node.attach().setValue(ImmutableList.of("first", "second"));
+            List<String> list = node.get(serializer.size(Range.atMost(2)));
+            Assertions.assertAll(
+                    () -> Assertions.assertTrue(list instanceof ImmutableList),
+                    () -> Assertions.assertEquals(ImmutableList.of("first", "second"), list),
+                    () -> testDeserializer(serializer.size(Range.atMost(1)), ImmutableList.of("first", "second"), null, false)
+            );
+        }
+
     }
 
     private static Stream<Arguments> testList() {
@@ -333,6 +508,27 @@ class SerializerTests {
             );
         }
 
+        @Test
+        void testSetDuplicateIndices() {
+            Node node = Node.root();
+            node.attach().setValue(ImmutableList.of("first", "second", "third", "second"));
+            SerializationException e = Assertions.assertThrows(SerializationException.class, () -> node.get(Storm.SET.of(Storm.STRING)));
+            Assertions.assertTrue(e.getMessage().contains("indices 1 and 3"), e.getMessage());
+        }
+
+        @Test
+        void testSetFactory() {
+            SetSerializer<String> serializer = Storm.SET.of(Storm.STRING).factory(size -> new TreeSet<>(String.CASE_INSENSITIVE_ORDER));
+            Node node = Node.root();
+            node.attach().setValue(ImmutableList.of("b", "a"));
+            Set<String> set = node.get(serializer);
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(TreeSet.class, set.getClass()),
+                    () -> Assertions.assertEquals(ImmutableList.of("a", "b"), ImmutableList.copyOf(set)),
+                    () -> testDeserializer(serializer, ImmutableList.of("a", "A"), null, false)
+            );
+        }
+
     }
 
     private static Stream<Arguments> testSet() {
@@ -348,6 +544,8 @@ class SerializerTests {
         FIRST, SECOND, THIRD
     }
 
+    private static final String TEST_ENUM_PATTERN = "^(?:[Ff][Ii\u0130\u0131][Rr][Ss\u017F][Tt]|[Ss\u017F][Ee][Cc][Oo][Nn][Dd]|[Tt][Hh][Ii\u0130\u0131][Rr][Dd])$";
+
     @Nested
     class EnumTests {
 
@@ -367,6 +565,74 @@ class SerializerTests {
             );
         }
 
+        @Test
+        void testEnumDiagnostic() {
+            Node node = Node.root();
+            node.attach().setValue("fourth");
+            SerializationException e = Assertions.assertThrows(SerializationException.class, () -> node.get(Storm.ENUM.of(TestEnum.class)));
+            Assertions.assertTrue(e.getMessage().contains("[FIRST, SECOND, THIRD]"), e.getMessage());
+        }
+
+    }
+
+    @Nested
+    class EnumSetTests {
+
+        @ParameterizedTest
+        @MethodSource("dev.willbanders.storm.serializer.SerializerTests#testEnumSet")
+        void testEnumSet(String test, Object value, EnumSet<TestEnum> expected) {
+            testDeserializer(Storm.ENUM_SET.of(TestEnum.class), value, expected, expected != null);
+        }
+
+        @Test
+        void testReserialize() {
+            testReserializer(Storm.ENUM_SET.of(TestEnum.class), EnumSet.of(TestEnum.THIRD, TestEnum.FIRST), ImmutableList.of("FIRST", "THIRD"), true);
+        }
+
+    }
+
+    private static Stream<Arguments> testEnumSet() {
+        return Stream.of(
+                Arguments.of("Empty", ImmutableList.of(), EnumSet.noneOf(TestEnum.class)),
+                Arguments.of("Elements", ImmutableList.of("third", "FIRST"), EnumSet.of(TestEnum.FIRST, TestEnum.THIRD)),
+                Arguments.of("Duplicate", ImmutableList.of("FIRST", "first"), null),
+                Arguments.of("Invalid Constant", ImmutableList.of("FOURTH"), null),
+                Arguments.of("Invalid Type", "FIRST", null)
+        );
+    }
+
+    @Nested
+    class EnumMapTests {
+
+        @ParameterizedTest
+        @MethodSource("dev.willbanders.storm.serializer.SerializerTests#testEnumMap")
+        void testEnumMap(String test, Object value, Map<TestEnum, String> expected) {
+            EnumMap<TestEnum, String> map = new EnumMap<>(TestEnum.class);
+            if (expected != null) {
+                map.putAll(expected);
+            }
+            testDeserializer(Storm.ENUM_MAP.of(TestEnum.class, Storm.STRING), value, map, expected != null);
+        }
+
+        @Test
+        void testReserialize() {
+            Node node = Node.root();
+            node.attach().setValue(ImmutableMap.of("first", "a", "SECOND", "b"));
+            EnumMap<TestEnum, String> value = new EnumMap<>(ImmutableMap.of(TestEnum.THIRD, "c", TestEnum.SECOND, "d"));
+            node.set(value, Storm.ENUM_MAP.of(TestEnum.class, Storm.STRING));
+            Assertions.assertEquals(ImmutableMap.of("SECOND", "d", "THIRD", "c"), node.getValue());
+        }
+
+    }
+
+    private static Stream<Arguments> testEnumMap() {
+        return Stream.of(
+                Arguments.of("Empty", ImmutableMap.of(), ImmutableMap.of()),
+                Arguments.of("Entries", ImmutableMap.of("second", "b", "FIRST", "a"), ImmutableMap.of(TestEnum.FIRST, "a", TestEnum.SECOND, "b")),
+                Arguments.of("Duplicate", ImmutableMap.of("FIRST", "a", "first", "b"), null),
+                Arguments.of("Invalid Key", ImmutableMap.of("FOURTH", "a"), null),
+                Arguments.of("Invalid Type", ImmutableList.of(), null)
+        );
     }
 
     private static Stream<Arguments> testEnum() {
@@ -432,6 +698,32 @@ class SerializerTests {
             );
         }
 
+        @Test
+        void testMapDottedKey() {
+            testSerializer(Storm.MAP.of(Storm.BOOLEAN), ImmutableMap.of("x.y", true), ImmutableMap.of("x.y", true), true);
+        }
+
+        @Test
+        void testMapOrder() {
+            Node node = Node.root();
+            node.attach().setValue(ImmutableMap.of("z", "first", "y", "second", "x", "third"));
+            Map<String, String> map = node.get(Storm.MAP.of(Storm.STRING));
+            Assertions.assertEquals(ImmutableList.of("z", "y", "x"), ImmutableList.copyOf(map.keySet()));
+        }
+
+        @Test
+        void testMapCollector() {
+            MapSerializer<String> serializer = Storm.MAP.of(Storm.STRING)
+                    .collector(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (x, y) -> x, TreeMap::new));
+            Node node = Node.root();
+            node.attach().setValue(ImmutableMap.of("z", "first", "y", "second", "x", "third"));
+            Map<String, String> map = node.get(serializer);
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(TreeMap.class, map.getClass()),
+                    () -> Assertions.assertEquals(ImmutableList.of("x", "y", "z"), ImmutableList.copyOf(map.keySet()))
+            );
+        }
+
     }
 
     @Nested
@@ -443,6 +735,31 @@ class SerializerTests {
             testSerializer(Storm.OBJECT.of(serializers), values, values, success);
         }
 
+        @Test
+        void testObjectDottedKey() {
+            testSerializer(Storm.OBJECT.of(ImmutableMap.of("x.y", Storm.BOOLEAN)), ImmutableMap.of("x.y", true), ImmutableMap.of("x.y", true), true);
+        }
+
+        @Test
+        void testObjectOrder() {
+            Node node = Node.root();
+            node.attach().setValue(ImmutableMap.of("x", true, "y", "string"));
+            Map<String, ?> map = node.get(Storm.OBJECT.of(ImmutableMap.of("y", Storm.STRING, "x", Storm.BOOLEAN)));
+            Assertions.assertEquals(ImmutableList.of("y", "x"), ImmutableList.copyOf(map.keySet()));
+        }
+
+        @Test
+        void testObjectCollector() {
+            Node node = Node.root();
+            node.attach().setValue(ImmutableMap.of("x", true, "y", "string"));
+            Map<String, ?> map = node.get(Storm.OBJECT.of(ImmutableMap.of("x", Storm.BOOLEAN, "y", Storm.STRING))
+                    .collector(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue)));
+            Assertions.assertAll(
+                    () -> Assertions.assertTrue(map instanceof ImmutableMap),
+                    () -> Assertions.assertEquals(ImmutableMap.of("x", true, "y", "string"), map)
+            );
+        }
+
     }
 
     private static Stream<Arguments> testObject() {
@@ -486,6 +803,83 @@ class SerializerTests {
             testReserializer(Storm.UNION, null, null, false);
         }
 
+        @Test
+        void testUnionReserializer() {
+            UnionSerializer<Object> serializer = Storm.UNION.<Object>of(ImmutableMap.of(
+                    Node.Type.NULL, Storm.ANY_NULLABLE,
+                    Node.Type.INTEGER, Storm.BIG_INTEGER,
+                    Node.Type.STRING, Storm.STRING
+            )).reserializer(String.class, Storm.STRING).reserializer(BigInteger.class, Storm.BIG_INTEGER).reserializer(Object.class, Storm.ANY);
+            Assertions.assertAll(
+                    () -> testSerializer(serializer, "string", "string", true),
+                    () -> testSerializer(serializer, BigInteger.ONE, BigInteger.ONE, true),
+                    () -> testSerializer(serializer, null, null, true),
+                    () -> testReserializer(serializer, true, null, false),
+                    () -> Assertions.assertThrows(IllegalArgumentException.class, () -> serializer.reserializer(String.class, Storm.STRING))
+            );
+        }
+
+        @Test
+        void testUnionReserializerInvalidType() {
+            UnionSerializer<Object> serializer = Storm.UNION.<Object>of(ImmutableMap.of(Node.Type.STRING, Storm.STRING))
+                    .reserializer(BigInteger.class, Storm.BIG_INTEGER);
+            Node node = Node.root();
+            node.attach().setValue("string");
+            node.setComment("comment");
+            Assertions.assertAll(
+                    () -> Assertions.assertThrows(SerializationException.class, () -> node.set(BigInteger.valueOf(5), serializer)),
+                    () -> Assertions.assertEquals("string", node.getValue()),
+                    () -> Assertions.assertEquals("comment", node.getComment())
+            );
+        }
+
+        @Test
+        void testUnionReserializeComments() {
+            UnionSerializer<Object> serializer = Storm.UNION.<Object>of(ImmutableMap.of(Node.Type.OBJECT, Storm.MAP.of(Storm.STRING)))
+                    .reserializer((Class<Map<String, String>>) (Class<?>) Map.class, Storm.MAP.of(Storm.STRING));
+            Node node = Node.root();
+            node.attach().setValue(ImmutableMap.of("x", "first"));
+            node.resolve("x").setComment("comment");
+            node.set(ImmutableMap.of("x", "second"), serializer);
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(ImmutableMap.of("x", "second"), node.getValue()),
+                    () -> Assertions.assertEquals("comment", node.resolve("x").getComment())
+            );
+        }
+
+        @Test
+        void testUnionReserializeInPlace() {
+            UnionSerializer<Object> serializer = Storm.UNION.<Object>of(ImmutableMap.of(Node.Type.ARRAY, Storm.LIST.of(Storm.STRING)))
+                    .reserializer((Class<List<String>>) (Class<?>) List.class, Storm.LIST.of(Storm.STRING));
+            Node root = Node.root();
+            root.resolve("x").attach().setValue(ImmutableList.of("first", "second"));
+            root.resolve("x", 0).setComment("comment");
+            Node node = root.resolve("x");
+            Node child = node.resolve(0);
+            node.set(ImmutableList.of("third", "fourth"), serializer);
+            Assertions.assertSame(child, node.resolve(0));
+            SerializationException e = Assertions.assertThrows(SerializationException.class, () -> node.set(Arrays.asList("fifth", null), serializer));
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(ImmutableList.of("x", 1), e.getNode().getPath()),
+                    () -> Assertions.assertSame(root, e.getNode().getParent().getParent()),
+                    () -> Assertions.assertEquals(ImmutableList.of("third", "fourth"), node.getValue()),
+                    () -> Assertions.assertEquals("comment", node.resolve(0).getComment())
+            );
+        }
+
+        @Test
+        void testUnionReserializerPrecedence() {
+            UnionSerializer<Object> base = Storm.UNION.of(ImmutableMap.of(Node.Type.INTEGER, Storm.BIG_INTEGER));
+            Serializer<BigInteger> range = Storm.BIG_INTEGER.range(Range.closed(BigInteger.ZERO, BigInteger.TEN));
+            BigInteger value = BigInteger.valueOf(20);
+            Assertions.assertAll(
+                    () -> testReserializer(base.reserializer(BigInteger.class, range).reserializer(Object.class, Storm.ANY), value, value, false),
+                    () -> testReserializer(base.reserializer(Object.class, Storm.ANY).reserializer(BigInteger.class, range), value, value, true),
+                    () -> testReserializer(base.reserializer(Number.class, Storm.ANY), value, value, true),
+                    () -> testReserializer(base.reserializer(String.class, Storm.STRING), value, null, false)
+            );
+        }
+
     }
 
     private static Stream<Arguments> testUnion() {
@@ -590,6 +984,19 @@ class SerializerTests {
             Assertions.assertThrows(IllegalArgumentException.class, () -> Storm.CLASS.of(ClassTestsExample.FieldsInvalidConstructor.class));
         }
 
+        @Test
+        void testClassRecursive() {
+            Storm.SCOPE.register(ClassTestsExample.FieldsRecursive.class, Storm.CLASS.of(ClassTestsExample.FieldsRecursive.class).nullable());
+            Node node = Node.root();
+            node.attach().setValue(ImmutableMap.of("next", ImmutableMap.of("next", Collections.singletonMap("next", null))));
+            Node schema = Node.root();
+            Storm.CLASS.of(ClassTestsExample.FieldsRecursive.class).schema(schema);
+            Assertions.assertAll(
+                    () -> Assertions.assertNotNull(node.get(Storm.CLASS.of(ClassTestsExample.FieldsRecursive.class)).next.next),
+                    () -> Assertions.assertEquals(ImmutableMap.of(), schema.resolve("properties", "next", "anyOf", 1).getValue())
+            );
+        }
+
     }
 
     private static Stream<Arguments> testClass() {
@@ -643,6 +1050,18 @@ class SerializerTests {
 
         }
 
+        @Storm.Serialized
+        private static class FieldsRecursive extends ClassTestsExample {
+
+            private FieldsRecursive next = null;
+
+            @Override
+            public List<Object> getFields() {
+                return Arrays.asList(next);
+            }
+
+        }
+
         @Storm.Serialized
         private static class FieldsInvalidConstructor extends ClassTestsExample {
 
@@ -720,6 +1139,240 @@ class SerializerTests {
 
     }
 
+    @Nested
+    class TaggedTests {
+
+        private final TaggedSerializer<ClassTestsExample> serializer = Storm.TAGGED.<ClassTestsExample>of("kind")
+                .subtype("default", ClassTestsExample.FieldsDefaultConstructor.class)
+                .subtype("custom", ClassTestsExample.FieldsCustomConstructor.class)
+                .subtype("methods", ClassTestsExample.MethodsReserialization.class);
+
+        @ParameterizedTest
+        @MethodSource("dev.willbanders.storm.serializer.SerializerTests#testTagged")
+        void testTagged(String test, ClassTestsExample value, Map<String, Object> expected) {
+            testSerializer(serializer, value, expected, true);
+        }
+
+        @Test
+        void testTaggedList() {
+            Node node = Node.root();
+            node.attach().setValue(ImmutableList.of(
+                    ImmutableMap.of("kind", "custom", "name", "First", "age", BigInteger.ONE),
+                    ImmutableMap.of("kind", "methods", "name", "Second")));
+            List<ClassTestsExample> values = node.get(Storm.LIST.of(serializer));
+            Assertions.assertAll(
+                    () -> Assertions.assertEquals(new ClassTestsExample.FieldsCustomConstructor("First", 1), values.get(0)),
+                    () -> Assertions.assertEquals(new ClassTestsExample.MethodsReserialization("Second"), values.get(1))
+            );
+        }
+
+        @Test
+        void testTaggedInvalid() {
+            Assertions.assertAll(
+                    () -> testDeserializer(serializer, ImmutableMap.of("name", "Name", "age", BigInteger.ONE), null, false),
+                    () -> testDeserializer(serializer, ImmutableMap.of("kind", "unknown", "name", "Name", "age", BigInteger.ONE), null, false),
+                    () -> testDeserializer(serializer, ImmutableMap.of("kind", "custom", "name", "Name"), null, false),
+                    () -> testDeserializer(serializer, ImmutableList.of(), null, false),
+                    () -> testReserializer(serializer, new ClassTestsExample.MethodsDeserialization("Name"), null, false),
+                    () -> Assertions.assertThrows(IllegalArgumentException.class, () -> serializer.subtype("custom", ClassTestsExample.MethodsDeserialization.class))
+            );
+        }
+
+        @Test
+        void testTaggedChangedSubtype() {
+            Node node = Node.root();
+            node.set(new ClassTestsExample.MethodsReserialization("Name"), serializer);
+            node.set(new ClassTestsExample.FieldsCustomConstructor("Name", 1), serializer);
+            Assertions.assertEquals(ImmutableList.of("kind", "name", "age"), ImmutableList.copyOf(node.getMap().keySet()));
+        }
+
+    }
+
+    private static Stream<Arguments> testTagged() {
+        ClassTestsExample.FieldsDefaultConstructor fdc = new ClassTestsExample.FieldsDefaultConstructor();
+        fdc.name = "Name";
+        fdc.age = 1;
+        ClassTestsExample.MethodsReserialization mr = new ClassTestsExample.MethodsReserialization("Name");
+        mr.age = 1;
+        return Stream.of(
+                Arguments.of("Fields Default Constructor", fdc, ImmutableMap.of("kind", "default", "name", "Name", "age", BigInteger.ONE)),
+                Arguments.of("Fields Custom Constructor", new ClassTestsExample.FieldsCustomConstructor("Name", 1),
+                        ImmutableMap.of("kind", "custom", "name", "Name", "age", BigInteger.ONE)),
+                Arguments.of("Methods Reserialization", mr, ImmutableMap.of("kind", "methods", "name", "Name", "age", BigInteger.ONE))
+        );
+    }
+
+    @Nested
+    class SchemaTests {
+
+        @ParameterizedTest
+        @MethodSource("dev.willbanders.storm.serializer.SerializerTests#testSchemaExport")
+        void testSchemaExport(String test, Serializer<?> serializer, String expected) {
+            Node node = Node.root();
+            serializer.schema(node);
+            Assertions.assertEquals(JsonParser.parse(expected), node);
+        }
+
+        @ParameterizedTest
+        @MethodSource("dev.willbanders.storm.serializer.SerializerTests#testSchemaValidation")
+        void testSchemaValidation(String test, String schema, Object value, boolean success) {
+            Node node = Node.root();
+            node.attach().setValue(value);
+            SchemaSerializer serializer = Storm.SCHEMA.of(JsonParser.parse(schema));
+            test(() -> node.get(serializer), success);
+        }
+
+        @Test
+        void testSchemaRoundTrip() {
+            Serializer<?> serializer = Storm.OBJECT.of(ImmutableMap.of(
+                    "name", Storm.STRING.matches("[a-z]+"),
+                    "ports", Storm.LIST.of(Storm.INTEGER.range(Range.closed(1, 65535))).size(Range.atLeast(1)),
+                    "debug", Storm.BOOLEAN.optional(false)));
+            Node schema = Node.root();
+            serializer.schema(schema);
+            SchemaSerializer imported = Storm.SCHEMA.of(schema);
+            Node exported = Node.root();
+            imported.schema(exported);
+            List<Map<String, Object>> values = ImmutableList.of(
+                    ImmutableMap.of("name", "storm", "ports", ImmutableList.of(BigInteger.valueOf(80))),
+                    ImmutableMap.of("name", "storm", "ports", ImmutableList.of(BigInteger.valueOf(80)), "debug", true),
+                    ImmutableMap.of("name", "Storm", "ports", ImmutableList.of(BigInteger.valueOf(80))),
+                    ImmutableMap.of("name", "storm\n", "ports", ImmutableList.of(BigInteger.valueOf(80))),
+                    ImmutableMap.of("name", "storm", "ports", ImmutableList.of()),
+                    ImmutableMap.of("name", "storm", "ports", ImmutableList.of(BigInteger.ZERO)),
+                    ImmutableMap.of("name", "storm"),
+                    ImmutableMap.of("name", "storm", "ports", ImmutableList.of(BigInteger.ONE), "other", true));
+            Assertions.assertAll(Stream.concat(
+                    Stream.of(() -> Assertions.assertEquals(schema, exported)),
+                    values.stream().map(v -> () -> {
+                        Node node = Node.root();
+                        node.attach().setValue(v);
+                        boolean expected;
+                        try {
+                            node.get(serializer);
+                            expected = true;
+                        } catch (SerializationException e) {
+                            expected = false;
+                        }
+                        test(() -> node.get(imported), expected);
+                    }))
+            );
+        }
+
+        @Test
+        void testSchemaEnum() {
+            Node schema = Node.root();
+            Storm.ENUM_MAP.of(TestEnum.class, Storm.ENUM.of(TestEnum.class)).schema(schema);
+            SchemaSerializer imported = Storm.SCHEMA.of(schema);
+            Assertions.assertAll(Stream.of(
+                    ImmutableMap.of("first", "Second"),
+                    ImmutableMap.of("FIRST", "third", "th\u0131rd", "F\u0130RST"),
+                    ImmutableMap.of("fourth", "first"),
+                    ImmutableMap.of("first", "fourth"),
+                    ImmutableMap.of("first ", "first")
+            ).map(v -> () -> {
+                Node node = Node.root();
+                node.attach().setValue(v);
+                boolean expected;
+                try {
+                    node.get(Storm.ENUM_MAP.of(TestEnum.class, Storm.ENUM.of(TestEnum.class)));
+                    expected = true;
+                } catch (SerializationException e) {
+                    expected = false;
+                }
+                test(() -> node.get(imported), expected);
+            }));
+        }
+
+        @Test
+        void testSchemaUnsupported() {
+            Assertions.assertAll(
+                    () -> Assertions.assertThrows(IllegalArgumentException.class, () -> Storm.SCHEMA.of(JsonParser.parse("{\"$ref\": \"#\"}"))),
+                    () -> Assertions.assertThrows(IllegalArgumentException.class, () -> Storm.SCHEMA.of(JsonParser.parse("{\"type\": \"date\"}"))),
+                    () -> Assertions.assertThrows(IllegalArgumentException.class, () -> Storm.SCHEMA.of(JsonParser.parse("1")))
+            );
+        }
+
+    }
+
+    private static Stream<Arguments> testSchemaExport() {
+        return Stream.of(
+                Arguments.of("Any", Storm.ANY, "{\"not\": {\"type\": \"null\"}}"),
+                Arguments.of("Boolean", Storm.BOOLEAN, "{\"type\": \"boolean\"}"),
+                Arguments.of("Integer Range", Storm.INTEGER.range(Range.closedOpen(0, 10)),
+                        "{\"type\": \"integer\", \"minimum\": 0, \"exclusiveMaximum\": 10}"),
+                Arguments.of("Big Decimal", Storm.BIG_DECIMAL, "{\"type\": \"number\"}"),
+                Arguments.of("Character", Storm.CHARACTER, "{\"type\": \"string\", \"minLength\": 1, \"maxLength\": 1}"),
+                Arguments.of("String Pattern", Storm.STRING.matches("[a-z]+"), "{\"type\": \"string\", \"pattern\": \"^(?:[a-z]+)$\"}"),
+                Arguments.of("List Size", Storm.LIST.of(Storm.BOOLEAN).size(Range.open(0, 4)),
+                        "{\"type\": \"array\", \"items\": {\"type\": \"boolean\"}, \"minItems\": 1, \"maxItems\": 3}"),
+                Arguments.of("Set", Storm.SET.of(Storm.BOOLEAN),
+                        "{\"type\": \"array\", \"items\": {\"type\": \"boolean\"}, \"uniqueItems\": true}"),
+                Arguments.of("Tuple", Storm.TUPLE.of(ImmutableList.of(Storm.BOOLEAN, Storm.BIG_INTEGER)),
+                        "{\"type\": \"array\", \"prefixItems\": [{\"type\": \"boolean\"}, {\"type\": \"integer\"}], " +
+                        "\"items\": false, \"minItems\": 2, \"maxItems\": 2}"),
+                Arguments.of("Map", Storm.MAP.of(Storm.BOOLEAN),
+                        "{\"type\": \"object\", \"additionalProperties\": {\"type\": \"boolean\"}}"),
+                Arguments.of("Object", Storm.OBJECT.of(ImmutableMap.of("x", Storm.BOOLEAN, "y", Storm.BOOLEAN.optional())),
+                        "{\"type\": \"object\", \"properties\": {\"x\": {\"type\": \"boolean\"}, \"y\": {\"type\": \"boolean\"}}, " +
+                        "\"required\": [\"x\"], \"additionalProperties\": false}"),
+                Arguments.of("Nullable", Storm.BOOLEAN.nullable(), "{\"anyOf\": [{\"type\": \"null\"}, {\"type\": \"boolean\"}]}"),
+                Arguments.of("Union", Storm.UNION.of(ImmutableMap.of(Node.Type.STRING, Storm.STRING, Node.Type.BOOLEAN, Storm.BOOLEAN)),
+                        "{\"anyOf\": [{\"type\": \"boolean\"}, {\"type\": \"string\"}]}"),
+                Arguments.of("String Pattern Flags", Storm.STRING.matches(Pattern.compile("[a-z]+", Pattern.CASE_INSENSITIVE)), "{\"type\": \"string\"}"),
+                Arguments.of("Enum", Storm.ENUM.of(TestEnum.class), "{\"type\": \"string\", \"pattern\": \"" + TEST_ENUM_PATTERN + "\"}"),
+                Arguments.of("Enum Map", Storm.ENUM_MAP.of(TestEnum.class, Storm.BOOLEAN),
+                        "{\"type\": \"object\", \"propertyNames\": {\"type\": \"string\", \"pattern\": \"" + TEST_ENUM_PATTERN + "\"}, " +
+                        "\"additionalProperties\": {\"type\": \"boolean\"}}"),
+                Arguments.of("Tagged", Storm.TAGGED.of("kind").subtype("custom", ClassTestsExample.FieldsCustomConstructor.class),
+                        "{\"type\": \"object\", \"required\": [\"kind\"], \"oneOf\": [{\"type\": \"object\", \"properties\": {" +
+                        "\"name\": {\"type\": \"string\"}, " +
+                        "\"age\": {\"type\": \"integer\", \"minimum\": -2147483648, \"maximum\": 2147483647}, " +
+                        "\"kind\": {\"const\": \"custom\"}}, " +
+                        "\"required\": [\"name\", \"age\"], \"additionalProperties\": false}]}")
+        );
+    }
+
+    private static Stream<Arguments> testSchemaValidation() {
+        return Stream.of(
+                Arguments.of("Empty", "{}", true, true),
+                Arguments.of("False", "false", true, false),
+                Arguments.of("Type", "{\"type\": \"boolean\"}", BigInteger.ONE, false),
+                Arguments.of("Type Array", "{\"type\": [\"null\", \"number\"]}", null, true),
+                Arguments.of("Number Integer", "{\"type\": \"number\"}", BigInteger.ONE, true),
+                Arguments.of("String Character", "{\"type\": \"string\"}", 'c', true),
+                Arguments.of("Minimum", "{\"minimum\": 1.5}", BigInteger.ONE, false),
+                Arguments.of("Exclusive Maximum", "{\"exclusiveMaximum\": 1}", BigInteger.ONE, false),
+                Arguments.of("Maximum Other Type", "{\"maximum\": 1}", "string", true),
+                Arguments.of("Max Length", "{\"maxLength\": 3}", "string", false),
+                Arguments.of("Pattern Unanchored", "{\"pattern\": \"ri\"}", "string", true),
+                Arguments.of("Pattern Anchored", "{\"pattern\": \"^ri\"}", "string", false),
+                Arguments.of("Pattern End Anchor", "{\"pattern\": \"^[a-z]+$\"}", "abc\n", false),
+                Arguments.of("Pattern Class Dollar", "{\"pattern\": \"^[$]$\"}", "$", true),
+                Arguments.of("Enum", "{\"enum\": [\"a\", 1]}", 'a', true),
+                Arguments.of("Enum Invalid", "{\"enum\": [\"a\", 1]}", BigInteger.TEN, false),
+                Arguments.of("Const", "{\"const\": [1]}", ImmutableList.of(BigInteger.ONE), true),
+                Arguments.of("Items", "{\"items\": {\"type\": \"boolean\"}}", ImmutableList.of(true, "string"), false),
+                Arguments.of("Prefix Items", "{\"prefixItems\": [{\"type\": \"string\"}], \"items\": {\"type\": \"boolean\"}}",
+                        ImmutableList.of("string", true), true),
+                Arguments.of("Prefix Items Closed", "{\"prefixItems\": [{\"type\": \"string\"}], \"items\": false}",
+                        ImmutableList.of("string", true), false),
+                Arguments.of("Unique Items", "{\"uniqueItems\": true}", ImmutableList.of(BigInteger.ONE, BigInteger.ONE), false),
+                Arguments.of("Min Items", "{\"minItems\": 1}", ImmutableList.of(), false),
+                Arguments.of("Required", "{\"required\": [\"x\"]}", ImmutableMap.of("y", true), false),
+                Arguments.of("Properties", "{\"properties\": {\"x\": {\"type\": \"string\"}}}", ImmutableMap.of("x", true), false),
+                Arguments.of("Additional Properties", "{\"properties\": {\"x\": {}}, \"additionalProperties\": false}",
+                        ImmutableMap.of("x", true, "y", true), false),
+                Arguments.of("Property Names", "{\"propertyNames\": {\"pattern\": \"^[a-z]+$\"}}", ImmutableMap.of("x", true, "Y", true), false),
+                Arguments.of("Max Properties", "{\"maxProperties\": 1}", ImmutableMap.of("x", true, "y", true), false),
+                Arguments.of("Any Of", "{\"anyOf\": [{\"type\": \"string\"}, {\"type\": \"boolean\"}]}", true, true),
+                Arguments.of("One Of", "{\"oneOf\": [{\"type\": \"number\"}, {\"type\": \"integer\"}]}", BigInteger.ONE, false),
+                Arguments.of("All Of", "{\"allOf\": [{\"type\": \"number\"}, {\"type\": \"integer\"}]}", BigInteger.ONE, true),
+                Arguments.of("Not", "{\"not\": {\"type\": \"null\"}}", null, false),
+                Arguments.of("Annotations", "{\"title\": \"Title\", \"description\": \"Description\"}", true, true)
+        );
+    }
+
     @ParameterizedTest
     @MethodSource("dev.willbanders.storm.serializer.SerializerTests#testCommentRetention")
     <T> void testCommentRetention(String test, Serializer<T> serializer, T start, T value) {